@@ -39,6 +39,11 @@ public final class Versions {
 	 */
 	public static final int JAVA_VERSION = 17; // Minecraft is Java 17
 
+	/**
+	 * The version of JMH used by benchmarks.
+	 */
+	public static final String JMH_VERSION = "1.35";
+
 	public static boolean isMinecraftVersionNonRelease() {
 		return MINECRAFT_VERSION.matches("^\\d\\dw\\d\\d[a-z]$");
 	}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.quiltmc.qsl.access.api.custom.ThreadSafeQueryMap;
+import org.quiltmc.qsl.access.impl.custom.RawIdTable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up providers in a {@link ThreadSafeQueryMap} against a compiled {@link RawIdTable}, the way
+ * {@code ItemAttributeLookupImpl.find} does for every query.
+ *
+ * Keys stand in for items of a registry of the given size, half of which have a provider, and carry their cached raw
+ * ID like items do once the registry is frozen. Queries are spread randomly over the whole registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProviderLookupBenchmark {
+	private static final int QUERIES = 4096;
+
+	@Param({"1000", "50000"})
+	int registrySize;
+
+	private Key[] queries;
+	private ThreadSafeQueryMap<Key, Object> map;
+	private RawIdTable<Key, Object> table;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		Key[] keys = new Key[registrySize];
+		Map<Key, Object> providers = new HashMap<>();
+
+		for (int i = 0; i < registrySize; i++) {
+			keys[i] = new Key(i);
+			if (random.nextBoolean()) {
+				providers.put(keys[i], new Object());
+			}
+		}
+
+		map = ThreadSafeQueryMap.create();
+		map.putWhereAbsent(providers);
+		table = RawIdTable.compile(map.getBackingMap(), key -> key.rawId);
+
+		queries = new Key[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = keys[random.nextInt(registrySize)];
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERIES)
+	public void map(Blackhole blackhole) {
+		for (Key key : queries) {
+			blackhole.consume(map.get(key));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERIES)
+	public void rawIdTable(Blackhole blackhole) {
+		for (Key key : queries) {
+			blackhole.consume(table.get(key, key.rawId));
+		}
+	}
+
+	private static final class Key {
+		final int rawId;
+
+		private Key(int rawId) {
+			this.rawId = rawId;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.api.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.impl.block.BlockAttributeCacheImpl;
+
+/**
+ * A cache for querying a {@link BlockAttributeLookup} at a fixed position,
+ * which is much faster than {@link BlockAttributeLookup#find} when querying
+ * the same position repeatedly, for example a pipe querying its neighbors
+ * every tick.
+ *
+ * <p>The cache remembers the provider resolved for the block at its position,
+ * as long as the block state doesn't change, and the block entity at its
+ * position, until a block entity is loaded or unloaded there.
+ *
+ * <p>Caches are only invalidated on the server, and must be used on the
+ * server thread.
+ *
+ * @param <A> The type of the attribute to query with this cache.
+ * @param <C> The type of context object required to execute the lookup.
+ */
+public interface BlockAttributeCache<A, C> {
+	/**
+	 * Create a cache for querying a lookup at a position
+	 *
+	 * @param lookup The lookup to query
+	 * @param world The world to query
+	 * @param pos The position to query, which is copied
+	 */
+	static <A, C> BlockAttributeCache<A, C> create(BlockAttributeLookup<A, C> lookup, ServerWorld world, BlockPos pos) {
+		return BlockAttributeCacheImpl.create(lookup, world, pos);
+	}
+
+	/**
+	 * Attempt to query the block at the position of this cache for the
+	 * attribute handled by its lookup
+	 *
+	 * @param state The block state at the position, or {@code null} to get it from the world
+	 * @param context The context of the query, as defined by the type parameter {@code C}
+	 * @return The retrieved Attribute instance, or {@code null} if no such
+	 *  instance could be queried
+	 * @see BlockAttributeLookup#find(net.minecraft.world.World, BlockPos, BlockState, BlockEntity, Object)
+	 */
+	@Nullable
+	A find(@Nullable BlockState state, C context);
+
+	/**
+	 * Attempt to query the block at the position of this cache for the
+	 * attribute handled by its lookup
+	 *
+	 * @see #find(BlockState, Object)
+	 */
+	@Nullable
+	default A find(C context) {
+		return find(null, context);
+	}
+
+	/**
+	 * Get the block entity at the position of this cache, if any
+	 */
+	@Nullable
+	BlockEntity getBlockEntity();
+
+	/**
+	 * Get the lookup queried by this cache
+	 */
+	BlockAttributeLookup<A, C> getLookup();
+
+	/**
+	 * Get the world queried by this cache
+	 */
+	ServerWorld getWorld();
+
+	/**
+	 * Get the position queried by this cache
+	 */
+	BlockPos getPos();
+}
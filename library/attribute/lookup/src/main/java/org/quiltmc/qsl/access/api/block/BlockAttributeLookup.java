@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.api.block;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.impl.block.BlockAttributeLookupImpl;
+
+import java.util.Map;
+
+/**
+ * A standard API for managing attribute lookup, for attributes bound to
+ * blocks in a world.
+ *
+ * <p>Attributes are provided either by the block at the queried position, or
+ * by the block entity at that position. Code querying the same position
+ * repeatedly, such as pipes querying their neighbors every tick, should use a
+ * {@link BlockAttributeCache} instead.
+ *
+ * @param <A> The type of the attribute to query with this lookup.
+ * @param <C> The type of context object required to execute the lookup.
+ */
+public interface BlockAttributeLookup<A, C> {
+	/**
+	 * Gets a {@link BlockAttributeLookup} instance associated with the specified identifier
+	 * @param id The unique identifier of the lookup
+	 * @param attributeClass The attribute class the lookup should query for
+	 * @param contextClass The context required for the lookup to query successfully
+	 * @return The unique lookup associated with the specified identifier
+	 * @throws IllegalArgumentException If a lookup with matching the identifier
+	 *  exists, but for an incorrect {@code attributeClass} or {@code contextClass}
+	 */
+	static <A, C> BlockAttributeLookup<A, C> get(Identifier id, Class<A> attributeClass, Class<C> contextClass) {
+		return BlockAttributeLookupImpl.get(id, attributeClass, contextClass);
+	}
+
+	/**
+	 * Attempt to query the block at a position for the attribute handled by
+	 * this lookup
+	 *
+	 * <p>Providers registered for the block are queried first, then providers
+	 * registered for the type of the block entity, and finally fallbacks.
+	 *
+	 * @param world The world containing the block
+	 * @param pos The position of the block
+	 * @param state The block state at the position, or {@code null} to get it from the world
+	 * @param blockEntity The block entity at the position, or {@code null} to get it from the world
+	 * @param context The context of the query, as defined by the type parameter {@code C}
+	 * @return The retrieved Attribute instance, or {@code null} if no such
+	 *  instance could be queried
+	 */
+	@Nullable
+	A find(World world, BlockPos pos, @Nullable BlockState state, @Nullable BlockEntity blockEntity, C context);
+
+	/**
+	 * Attempt to query the block at a position for the attribute handled by
+	 * this lookup
+	 *
+	 * @see #find(World, BlockPos, BlockState, BlockEntity, Object)
+	 */
+	@Nullable
+	default A find(World world, BlockPos pos, C context) {
+		return find(world, pos, null, null, context);
+	}
+
+	/**
+	 * Mark the specified block entity types as being capable of holding the
+	 * Attribute associated with this Lookup. Block entities which do not
+	 * implement the attribute class are ignored
+	 *
+	 * @param types The block entity types to associate with the Attribute type
+	 * @return A map containing the block entity types already registered in
+	 *  the map, and the providers they are associated with.
+	 */
+	Map<? extends BlockEntityType<?>, ? extends BlockEntityAttributeProvider<A, C>> registerSelf(BlockEntityType<?>... types);
+
+	/**
+	 * Mark specified blocks as being capable of holding a specific attribute,
+	 * to be handled using the specified {@code BlockAttributeProvider}
+	 *
+	 * @param provider The provider to register with
+	 * @param blocks The blocks to register
+	 * @return A map containing the blocks and their associated providers for
+	 *  blocks already registered within the map
+	 */
+	Map<? extends Block, ? extends BlockAttributeProvider<A, C>> registerForBlocks(BlockAttributeProvider<A, C> provider, Block... blocks);
+
+	/**
+	 * Mark specified block entity types as being capable of holding a specific
+	 * attribute, to be handled using the specified {@code BlockEntityAttributeProvider}
+	 *
+	 * @param provider The provider to register with
+	 * @param types The block entity types to register
+	 * @return A map containing the block entity types and their associated
+	 *  providers for types already registered within the map
+	 */
+	Map<? extends BlockEntityType<?>, ? extends BlockEntityAttributeProvider<A, C>> registerForBlockEntities(BlockEntityAttributeProvider<A, C> provider, BlockEntityType<?>... types);
+
+	/**
+	 * Register a provider to be used when a standard provider cannot be found
+	 * for a queried block. Providers registered this way are checked for all
+	 * queries which fail to find an attribute via the usual way
+	 * @param provider The provider to register
+	 */
+	void registerFallback(BlockAttributeProvider<A, C> provider);
+
+	/**
+	 * Get the identifier for this lookup
+	 */
+	Identifier getId();
+
+	/**
+	 * Get the attribute class for this lookup
+	 */
+	Class<A> attributeClass();
+
+	/**
+	 * Get the context class for this lookup
+	 */
+	Class<C> contextClass();
+
+	/**
+	 * Return the registered provider associated with the provided block, if one exists
+	 * Queries should go through {@link #find}, only use this for the purposes of inspection!
+	 */
+	@Nullable
+	BlockAttributeProvider<A, C> getProvider(Block block);
+
+	/**
+	 * Return the registered provider associated with the provided block entity type, if one exists
+	 * Queries should go through {@link #find}, only use this for the purposes of inspection!
+	 */
+	@Nullable
+	BlockEntityAttributeProvider<A, C> getProvider(BlockEntityType<?> type);
+
+	@FunctionalInterface
+	interface BlockAttributeProvider<A, C> {
+		/**
+		 * Return an attribute of type {@code A} from the block at the given
+		 * position with the given context, if it is available. Returns
+		 * {@code null} otherwise.
+		 *
+		 * @param world The world containing the block
+		 * @param pos The position of the block
+		 * @param state The block state at the position
+		 * @param blockEntity The block entity at the position, if any
+		 * @param context Additional context passed to the query.
+		 * @return An attribute of type {@code A}, or {@code null} if no
+		 *  attribute was found.
+		 */
+		@Nullable
+		A find(World world, BlockPos pos, BlockState state, @Nullable BlockEntity blockEntity, C context);
+	}
+
+	@FunctionalInterface
+	interface BlockEntityAttributeProvider<A, C> {
+		/**
+		 * Return an attribute of type {@code A} from the given block entity
+		 * with the given context, if it is available. Returns {@code null}
+		 * otherwise.
+		 *
+		 * @param blockEntity The block entity to query the attribute from.
+		 * @param context Additional context passed to the query.
+		 * @return An attribute of type {@code A}, or {@code null} if no
+		 *  attribute was found.
+		 */
+		@Nullable
+		A find(BlockEntity blockEntity, C context);
+	}
+}
@@ -28,6 +28,10 @@ import java.util.Objects;
  * Attributes are the equivalents of an API in Fabric API's API-lookup-API, and
  * can be treated identically for most purposes
  *
+ * The map is thread-safe, and retrieving an existing lookup never locks.
+ * Iterating the map doesn't lock either: lookups created during the
+ * iteration may or may not be returned.
+ *
  * WIP; Breaking changes are to be expected
  *
  * @param <L> The type of attribute lookup handled by this map. Each lookup
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.api.custom;
+
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.ApiStatus;
+import org.quiltmc.qsl.access.impl.custom.LookupStatistics;
+
+import java.util.List;
+
+/**
+ * A snapshot of the statistics of an attribute lookup, such as how often it is
+ * queried and how often its providers answer.
+ *
+ * Statistics are only recorded when the {@code quilt.attribute_lookup.statistics}
+ * system property is set to {@code true}, so the queries aren't slowed down
+ * otherwise.
+ *
+ * @param id The identifier of the lookup
+ * @param lookupType The type of the lookup, such as {@code ItemAttributeLookup}
+ * @param hits The number of queries answered by the provider registered for the queried object
+ * @param fallbackHits The number of queries answered by a fallback provider
+ * @param misses The number of queries which weren't answered
+ * @param providerNanos The cumulative time spent in the providers of the lookup, in nanoseconds
+ */
+@ApiStatus.Experimental
+public record AttributeLookupStatistics(Identifier id, Class<?> lookupType, long hits, long fallbackHits, long misses, long providerNanos) {
+	/**
+	 * Whether statistics are being recorded
+	 */
+	public static boolean isEnabled() {
+		return LookupStatistics.ENABLED;
+	}
+
+	/**
+	 * Get the statistics of every lookup of every {@link AttributeLookupMap}
+	 * which records statistics, sorted by decreasing provider time
+	 *
+	 * @return The statistics, or an empty list if they aren't recorded
+	 */
+	public static List<AttributeLookupStatistics> getAll() {
+		return LookupStatistics.getAll();
+	}
+
+	/**
+	 * Get the total number of queries
+	 */
+	public long queries() {
+		return hits + fallbackHits + misses;
+	}
+
+	/**
+	 * Get the mean time spent in the providers per query, in nanoseconds
+	 */
+	public long meanProviderNanos() {
+		long queries = queries();
+		return queries == 0 ? 0 : providerNanos / queries;
+	}
+}
@@ -32,6 +32,12 @@ import java.util.Map;
  * allowing queries occurring at the same time to still access the (not yet
  * recreated) map.
  *
+ * A map may also be created unfrozen with {@link #createUnfrozen()}, for
+ * registering many entries at once, such as during mod initialization. Until
+ * it is {@linkplain #freeze() frozen}, writes are made in place without any
+ * copy, at the cost of queries having to acquire a lock. Once frozen, queries
+ * go to an immutable snapshot, and later writes are copy-on-write again.
+ *
  * Keys are compared by reference, *not* equality (that is, use '{@code ==}'
  * rather than {@link Object#equals}). This is also the case for values, though
  * this should not generally cause any differences in coding requirements.
@@ -48,6 +54,14 @@ public interface ThreadSafeQueryMap<K, V> {
 		return new ThreadSafeQueryHashMap<>();
 	}
 
+	/**
+	 * Create a new unfrozen instance, defaulting to a HashMap implementation,
+	 * which accumulates writes without copying until {@link #freeze()} is called
+	 */
+	static <K, V> ThreadSafeQueryMap<K, V> createUnfrozen() {
+		return new ThreadSafeQueryHashMap<>(false);
+	}
+
 	/**
 	 * Return the provider associated with the specified key within this map,
 	 * if one exists. Otherwise returns {@code null}
@@ -82,9 +96,25 @@ public interface ThreadSafeQueryMap<K, V> {
 	 */
 	Map<? extends K, ? extends V> putWhereAbsent(@NotNull Map<? extends K, ? extends V> m);
 
+	/**
+	 * Publish the writes made so far as an immutable snapshot, used by all
+	 * later queries without locking. Writes made after this are copy-on-write.
+	 *
+	 * Does nothing if this map is already frozen.
+	 */
+	void freeze();
+
+	/**
+	 * Return whether this map is frozen, either because it was created frozen
+	 * with {@link #create()} or because {@link #freeze()} was called
+	 */
+	boolean isFrozen();
+
 	/**
 	 * Get the unmodifiable view of the contents of this map, which can be used
 	 * in methods that require an object implementing the {@link Map} interface
+	 *
+	 * If this map is not frozen, this is a copy of its current contents instead
 	 */
 	@Unmodifiable Map<K, V> getBackingMap();
 }
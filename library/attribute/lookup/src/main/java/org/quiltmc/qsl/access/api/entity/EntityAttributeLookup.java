@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.api.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.impl.entity.EntityAttributeLookupImpl;
+
+import java.util.Map;
+
+/**
+ * A standard API for managing attribute lookup, for attributes bound to
+ * entities.
+ *
+ * @param <A> The type of the attribute to query with this lookup.
+ * @param <C> The type of context object required to execute the lookup.
+ */
+public interface EntityAttributeLookup<A, C> {
+	/**
+	 * Gets a {@link EntityAttributeLookup} instance associated with the specified identifier
+	 * @param id The unique identifier of the lookup
+	 * @param attributeClass The attribute class the lookup should query for
+	 * @param contextClass The context required for the lookup to query successfully
+	 * @return The unique lookup associated with the specified identifier
+	 * @throws IllegalArgumentException If a lookup with matching the identifier
+	 *  exists, but for an incorrect {@code attributeClass} or {@code contextClass}
+	 */
+	static <A, C> EntityAttributeLookup<A, C> get(Identifier id, Class<A> attributeClass, Class<C> contextClass) {
+		return EntityAttributeLookupImpl.get(id, attributeClass, contextClass);
+	}
+
+	/**
+	 * Attempt to query the entity for the attribute handled by this lookup
+	 *
+	 * @param entity The {@code Entity} to query for the attribute
+	 * @param context The context of the query, as defined by the type parameter {@code C}
+	 * @return The retrieved Attribute instance, or {@code null} if no such
+	 *  instance could be queried
+	 */
+	@Nullable
+	A find(Entity entity, C context);
+
+	/**
+	 * Mark the specified entity types as being capable of holding the
+	 * Attribute associated with this Lookup, for querying via this Lookup
+	 *
+	 * <p>Entity types don't expose the class of their entities, so queried
+	 * entities which do not implement the attribute class are ignored.
+	 *
+	 * @param types The entity types to associate with the Attribute type
+	 * @return A map containing the entity types already registered in the map,
+	 *  and the providers they are associated with.
+	 */
+	Map<? extends EntityType<?>, ? extends EntityAttributeProvider<A, C>> registerSelf(EntityType<?>... types);
+
+	/**
+	 * Mark specified entity types as being capable of holding a specific
+	 * attribute, to be handled using the specified {@code EntityAttributeProvider}
+	 *
+	 * @param provider The provider to register with
+	 * @param types    The entity types to register
+	 * @return A map containing the entity types and their associated providers
+	 *  for types already registered within the map
+	 */
+	Map<? extends EntityType<?>, ? extends EntityAttributeProvider<A, C>> registerForTypes(EntityAttributeProvider<A, C> provider, EntityType<?>... types);
+
+	/**
+	 * Register a provider to be used when a standard provider cannot be found
+	 * with a provided entity. Providers registered this way are checked for all
+	 * queries which fail to find a provider for the requested entity via the
+	 * usual way
+	 *
+	 * <p>The answers of the provider are not cached, as they usually depend
+	 * on the state of the queried entity, such as its inventory. Use
+	 * {@link #registerFallback(EntityAttributeProvider, boolean)} for providers
+	 * whose answer depends only on the type of the queried entity, so they
+	 * are no longer queried for the types they returned {@code null} for.
+	 *
+	 * @param provider The provider to register
+	 */
+	void registerFallback(EntityAttributeProvider<A, C> provider);
+
+	/**
+	 * Register a provider to be used when a standard provider cannot be found
+	 * with a provided entity, optionally without caching its answers
+	 *
+	 * @param provider The provider to register
+	 * @param cacheable Whether the provider answers depends only on
+	 *  the type of the queried entity, and can therefore be cached per type
+	 * @see #registerFallback(EntityAttributeProvider)
+	 */
+	void registerFallback(EntityAttributeProvider<A, C> provider, boolean cacheable);
+
+	/**
+	 * Get the identifier for this lookup
+	 */
+	Identifier getId();
+
+	/**
+	 * Get the attribute class for this lookup
+	 */
+	Class<A> attributeClass();
+
+	/**
+	 * Get the context class for this lookup
+	 */
+	Class<C> contextClass();
+
+	/**
+	 * Return the registered provider associated with the provided entity type, if one exists
+	 * Queries should go through {@link #find}, only use this for the purposes of inspection!
+	 */
+	@Nullable
+	EntityAttributeProvider<A, C> getProvider(EntityType<?> type);
+
+	@FunctionalInterface
+	interface EntityAttributeProvider<A, C> {
+		/**
+		 * Return an attribute of type {@code A} from the given entity with
+		 * the given context, if it is available. Returns {@code null} otherwise.
+		 *
+		 * @param entity The entity to query the attribute from.
+		 * @param context Additional context passed to the query.
+		 * @return An attribute of type {@code A}, or {@code null} if no
+		 *  attribute was found.
+		 */
+		@Nullable
+		A find(Entity entity, C context);
+	}
+}
@@ -23,6 +23,7 @@ import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.Nullable;
 import org.quiltmc.qsl.access.impl.item.ItemAttributeLookupImpl;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -63,6 +64,21 @@ public interface ItemAttributeLookup<A, C> {
 	@Nullable
 	A find(ItemStack stack, C context);
 
+	/**
+	 * Attempt to query every stack of a list for the attribute handled by
+	 * this lookup, such as the slots of an inventory
+	 *
+	 * <p>This is equivalent to calling {@link #find} for each stack, but the
+	 * provider is only resolved once for consecutive stacks of the same item,
+	 * and no objects are allocated by the lookup itself.
+	 *
+	 * @param stacks The {@code ItemStack}s to query for the attribute
+	 * @param context The context of the queries, as defined by the type parameter {@code C}
+	 * @param consumer The consumer receiving the index of each stack for
+	 *  which an Attribute instance could be queried, and that instance
+	 */
+	void findAll(List<ItemStack> stacks, C context, IndexedAttributeConsumer<A> consumer);
+
 	/**
 	 * Mark the specified items as being capable of holding the Attribute
 	 * associated with this Lookup, for querying via this Lookup
@@ -91,10 +107,29 @@ public interface ItemAttributeLookup<A, C> {
 	 * with a provided item. Providers registered this way are checked for all
 	 * queries which fail to find a provider for the requested item via the
 	 * usual way
+	 *
+	 * <p>Whether the provider answers is cached per item, so it is assumed to
+	 * depend only on the item of the queried stack: once the provider returned
+	 * {@code null} for an item, it is not queried again for that item. Use
+	 * {@link #registerFallback(ItemAttributeProvider, boolean)} for providers
+	 * whose answer depends on the rest of the stack, such as its NBT, or on the
+	 * context.
+	 *
 	 * @param provider The provider to register
 	 */
 	void registerFallback(ItemAttributeProvider<A, C> provider);
 
+	/**
+	 * Register a provider to be used when a standard provider cannot be found
+	 * with a provided item, optionally without caching its answers
+	 *
+	 * @param provider The provider to register
+	 * @param cacheable Whether the provider answers depends only on
+	 *  the item of the queried stack, and can therefore be cached per item
+	 * @see #registerFallback(ItemAttributeProvider)
+	 */
+	void registerFallback(ItemAttributeProvider<A, C> provider, boolean cacheable);
+
 	/**
 	 * Get the identifier for this lookup
 	 */
@@ -139,4 +174,15 @@ public interface ItemAttributeLookup<A, C> {
 		@Nullable
 		A find(ItemStack itemStack, C context);
 	}
+
+	@FunctionalInterface
+	interface IndexedAttributeConsumer<A> {
+		/**
+		 * Accept an attribute found by a batch query.
+		 *
+		 * @param index The index of the queried stack the attribute was found for.
+		 * @param attribute The attribute found for that stack.
+		 */
+		void accept(int index, A attribute);
+	}
 }
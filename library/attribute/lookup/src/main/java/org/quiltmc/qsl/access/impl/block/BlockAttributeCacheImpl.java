@@ -0,0 +1,192 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.api.block.BlockAttributeCache;
+import org.quiltmc.qsl.access.api.block.BlockAttributeLookup;
+import org.quiltmc.qsl.access.api.block.BlockAttributeLookup.BlockAttributeProvider;
+import org.quiltmc.qsl.access.api.block.BlockAttributeLookup.BlockEntityAttributeProvider;
+import org.quiltmc.qsl.lifecycle.api.server.event.ServerBlockEntityEvents;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+public class BlockAttributeCacheImpl<A, C> implements BlockAttributeCache<A, C> {
+	// The live caches of each world, by position, so they can be told when their block entity changes
+	private static final Map<ServerWorld, Long2ObjectMap<List<CacheReference>>> CACHES = new WeakHashMap<>();
+	// Caches which were garbage collected, to be removed from the map above
+	private static final ReferenceQueue<BlockAttributeCacheImpl<?, ?>> COLLECTED = new ReferenceQueue<>();
+
+	static {
+		ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> invalidate(world, blockEntity.getPos()));
+		ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> invalidate(world, blockEntity.getPos()));
+	}
+
+	// The components of the cache
+	private final BlockAttributeLookupImpl<A, C> lookup;
+	private final ServerWorld world;
+	private final BlockPos pos;
+
+	// The provider of the last queried block state, valid as long as the lookup version doesn't change
+	private @Nullable BlockState cachedState = null;
+	private @Nullable BlockAttributeProvider<A, C> blockProvider = null;
+	private int blockVersion = -1;
+
+	// The block entity at the position, valid until a block entity is loaded or unloaded there
+	private @Nullable BlockEntity blockEntity = null;
+	private boolean blockEntityValid = false;
+	private @Nullable BlockEntityAttributeProvider<A, C> blockEntityProvider = null;
+	private int blockEntityVersion = -1;
+
+	public static <A, C> BlockAttributeCache<A, C> create(BlockAttributeLookup<A, C> lookup, ServerWorld world, BlockPos pos) {
+		Objects.requireNonNull(lookup, "BlockAttributeLookup may not be null");
+		Objects.requireNonNull(world, "ServerWorld may not be null");
+		Objects.requireNonNull(pos, "BlockPos may not be null");
+
+		BlockAttributeCacheImpl<A, C> cache = new BlockAttributeCacheImpl<>((BlockAttributeLookupImpl<A, C>) lookup, world, pos.toImmutable());
+		track(cache);
+		return cache;
+	}
+
+	private BlockAttributeCacheImpl(BlockAttributeLookupImpl<A, C> lookup, ServerWorld world, BlockPos pos) {
+		this.lookup = lookup;
+		this.world = world;
+		this.pos = pos;
+	}
+
+	@Override
+	public @Nullable A find(@Nullable BlockState state, C context) {
+		if (state == null) {
+			state = world.getBlockState(pos);
+		}
+
+		// Resolve the provider of the block again if the state or the registered providers changed
+		int version = lookup.getVersion();
+		if (state != cachedState || version != blockVersion) {
+			cachedState = state;
+			blockProvider = lookup.getProvider(state.getBlock());
+			blockVersion = version;
+		}
+
+		BlockEntity blockEntity = state.hasBlockEntity() ? getBlockEntity() : null;
+		BlockEntityAttributeProvider<A, C> blockEntityProvider = null;
+		if (blockEntity != null) {
+			if (version != blockEntityVersion) {
+				this.blockEntityProvider = lookup.getProvider(blockEntity.getType());
+				blockEntityVersion = version;
+			}
+
+			blockEntityProvider = this.blockEntityProvider;
+		}
+
+		return lookup.find(world, pos, state, blockEntity, context, blockProvider, blockEntityProvider);
+	}
+
+	@Override
+	public @Nullable BlockEntity getBlockEntity() {
+		// Removed block entities are normally caught by the unload event, but checking is cheap
+		if (!blockEntityValid || (blockEntity != null && blockEntity.isRemoved())) {
+			blockEntity = world.getBlockEntity(pos);
+			blockEntityValid = true;
+			blockEntityVersion = -1;
+		}
+
+		return blockEntity;
+	}
+
+	@Override
+	public BlockAttributeLookup<A, C> getLookup() {
+		return lookup;
+	}
+
+	@Override
+	public ServerWorld getWorld() {
+		return world;
+	}
+
+	@Override
+	public BlockPos getPos() {
+		return pos;
+	}
+
+	private void invalidateBlockEntity() {
+		blockEntityValid = false;
+		blockEntity = null;
+	}
+
+	private static synchronized void track(BlockAttributeCacheImpl<?, ?> cache) {
+		removeCollected();
+
+		long key = cache.pos.asLong();
+		CACHES.computeIfAbsent(cache.world, world -> new Long2ObjectOpenHashMap<>())
+				.computeIfAbsent(key, k -> new ArrayList<>(1))
+				.add(new CacheReference(cache, key));
+	}
+
+	private static synchronized void invalidate(ServerWorld world, BlockPos pos) {
+		Long2ObjectMap<List<CacheReference>> worldCaches = CACHES.get(world);
+		if (worldCaches == null) {
+			return;
+		}
+
+		List<CacheReference> caches = worldCaches.get(pos.asLong());
+		if (caches != null) {
+			for (CacheReference reference : caches) {
+				BlockAttributeCacheImpl<?, ?> cache = reference.get();
+				if (cache != null) {
+					cache.invalidateBlockEntity();
+				}
+			}
+		}
+	}
+
+	private static void removeCollected() {
+		CacheReference reference;
+		while ((reference = (CacheReference) COLLECTED.poll()) != null) {
+			ServerWorld world = reference.world.get();
+			Long2ObjectMap<List<CacheReference>> worldCaches = world != null ? CACHES.get(world) : null;
+			if (worldCaches == null) {
+				continue;
+			}
+
+			List<CacheReference> caches = worldCaches.get(reference.key);
+			if (caches != null && caches.remove(reference) && caches.isEmpty()) {
+				worldCaches.remove(reference.key);
+			}
+		}
+	}
+
+	// Also weakly references the world, so the references of collected caches don't keep it loaded
+	private static final class CacheReference extends WeakReference<BlockAttributeCacheImpl<?, ?>> {
+		private final WeakReference<ServerWorld> world;
+		private final long key;
+
+		private CacheReference(BlockAttributeCacheImpl<?, ?> cache, long key) {
+			super(cache, COLLECTED);
+			this.world = new WeakReference<>(cache.world);
+			this.key = key;
+		}
+	}
+}
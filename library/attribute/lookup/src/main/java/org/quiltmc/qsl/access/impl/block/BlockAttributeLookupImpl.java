@@ -0,0 +1,241 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.block;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.api.block.BlockAttributeLookup;
+import org.quiltmc.qsl.access.api.custom.AttributeLookupMap;
+import org.quiltmc.qsl.access.api.custom.ThreadSafeQueryMap;
+import org.quiltmc.qsl.access.impl.custom.LookupStatistics;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BlockAttributeLookupImpl<A, C> implements BlockAttributeLookup<A, C>, LookupStatistics.Tracked {
+	// The central map managing the block lookups for us
+	private static final AttributeLookupMap<BlockAttributeLookup<?, ?>> LOOKUPS = AttributeLookupMap.create(BlockAttributeLookupImpl::new);
+	// Whether the builtin registries are frozen, after which providers are rarely registered
+	private static volatile boolean registriesFrozen = false;
+
+	// The components of the lookup
+	private final Identifier id;
+	private final Class<A> attributeClass;
+	private final Class<C> contextClass;
+	private final LookupStatistics statistics;
+
+	// Provider tracking objects, both for "ideal" and fallback cases
+	// Until the registries are frozen, providers are registered without copying the whole maps every time
+	private final ThreadSafeQueryMap<Block, BlockAttributeProvider<A, C>> blockProviders = registriesFrozen ? ThreadSafeQueryMap.create() : ThreadSafeQueryMap.createUnfrozen();
+	private final ThreadSafeQueryMap<BlockEntityType<?>, BlockEntityAttributeProvider<A, C>> blockEntityProviders = registriesFrozen ? ThreadSafeQueryMap.create() : ThreadSafeQueryMap.createUnfrozen();
+	private final List<BlockAttributeProvider<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	// Incremented on every registration, so caches know when their resolved providers are outdated
+	private final AtomicInteger version = new AtomicInteger();
+
+	@SuppressWarnings("unchecked")
+	public static <A, C> BlockAttributeLookup<A, C> get(Identifier id, Class<A> attributeClass, Class<C> contextClass) {
+		return (BlockAttributeLookup<A, C>) LOOKUPS.getLookup(id, attributeClass, contextClass);
+	}
+
+	/**
+	 * Freezes the provider maps of every lookup, called once the builtin registries are frozen.
+	 */
+	public static void onRegistriesFrozen() {
+		registriesFrozen = true;
+
+		for (BlockAttributeLookup<?, ?> lookup : LOOKUPS) {
+			BlockAttributeLookupImpl<?, ?> impl = (BlockAttributeLookupImpl<?, ?>) lookup;
+			impl.blockProviders.freeze();
+			impl.blockEntityProviders.freeze();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private BlockAttributeLookupImpl(Identifier id, Class<?> attributeClass, Class<?> contextClass) {
+		this.id = id;
+		this.attributeClass = (Class<A>) attributeClass;
+		this.contextClass = (Class<C>) contextClass;
+		this.statistics = new LookupStatistics(id, BlockAttributeLookup.class);
+	}
+
+	@Override
+	public @Nullable A find(World world, BlockPos pos, @Nullable BlockState state, @Nullable BlockEntity blockEntity, C context) {
+		// Sanity check the position
+		Objects.requireNonNull(world, "World may not be null");
+		Objects.requireNonNull(pos, "BlockPos may not be null");
+
+		// Fetch what wasn't provided by the caller
+		if (state == null) {
+			state = world.getBlockState(pos);
+		}
+
+		if (blockEntity == null && state.hasBlockEntity()) {
+			blockEntity = world.getBlockEntity(pos);
+		}
+
+		BlockEntityAttributeProvider<A, C> blockEntityProvider = blockEntity != null ? blockEntityProviders.get(blockEntity.getType()) : null;
+		return find(world, pos, state, blockEntity, context, blockProviders.get(state.getBlock()), blockEntityProvider);
+	}
+
+	/**
+	 * Queries the given providers, then the fallbacks.
+	 * Used by caches, which resolve the providers once for many queries.
+	 */
+	@Nullable A find(World world, BlockPos pos, BlockState state, @Nullable BlockEntity blockEntity, C context,
+			@Nullable BlockAttributeProvider<A, C> blockProvider, @Nullable BlockEntityAttributeProvider<A, C> blockEntityProvider) {
+		long start = LookupStatistics.start();
+
+		// Try the provider of the block first
+		if (blockProvider != null) {
+			A instance = blockProvider.find(world, pos, state, blockEntity, context);
+			if (instance != null) {
+				if (LookupStatistics.ENABLED) {
+					statistics.recordHit(start);
+				}
+
+				return instance;
+			}
+		}
+
+		// Then the provider of the block entity
+		if (blockEntityProvider != null) {
+			A instance = blockEntityProvider.find(blockEntity, context);
+			if (instance != null) {
+				if (LookupStatistics.ENABLED) {
+					statistics.recordHit(start);
+				}
+
+				return instance;
+			}
+		}
+
+		// If the prior failed, try the fallbacks
+		for (BlockAttributeProvider<A, C> fallbackProvider : fallbackProviders) {
+			A instance = fallbackProvider.find(world, pos, state, blockEntity, context);
+			if (instance != null) {
+				if (LookupStatistics.ENABLED) {
+					statistics.recordFallback(start, true);
+				}
+
+				return instance;
+			}
+		}
+
+		if (LookupStatistics.ENABLED) {
+			statistics.recordFallback(start, false);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Map<? extends BlockEntityType<?>, ? extends BlockEntityAttributeProvider<A, C>> registerSelf(BlockEntityType<?>... types) {
+		// Block entities can't be checked until they exist, so only the ones implementing the attribute are returned
+		return registerForBlockEntities((blockEntity, context) -> attributeClass.isInstance(blockEntity) ? attributeClass.cast(blockEntity) : null, types);
+	}
+
+	@Override
+	public Map<? extends Block, ? extends BlockAttributeProvider<A, C>> registerForBlocks(BlockAttributeProvider<A, C> provider, Block... blocks) {
+		// Sanity check some requirements for the to-be-registered blocks
+		Objects.requireNonNull(provider, "BlockAttributeProvider may not be null");
+
+		if (blocks.length == 0) {
+			throw new IllegalArgumentException("At least one Block must be provided when registering a BlockAttributeProvider instance.");
+		}
+
+		// Register the new block/attribute-providers, skipping over duplicates
+		Map<Block, BlockAttributeProvider<A, C>> newEntries = new HashMap<>(blocks.length);
+		for (Block block : blocks) {
+			newEntries.put(block, provider);
+		}
+
+		Map<? extends Block, ? extends BlockAttributeProvider<A, C>> existing = blockProviders.putWhereAbsent(newEntries);
+		version.incrementAndGet();
+		return existing;
+	}
+
+	@Override
+	public Map<? extends BlockEntityType<?>, ? extends BlockEntityAttributeProvider<A, C>> registerForBlockEntities(BlockEntityAttributeProvider<A, C> provider, BlockEntityType<?>... types) {
+		// Sanity check some requirements for the to-be-registered block entity types
+		Objects.requireNonNull(provider, "BlockEntityAttributeProvider may not be null");
+
+		if (types.length == 0) {
+			throw new IllegalArgumentException("At least one BlockEntityType must be provided when registering a BlockEntityAttributeProvider instance.");
+		}
+
+		// Register the new type/attribute-providers, skipping over duplicates
+		Map<BlockEntityType<?>, BlockEntityAttributeProvider<A, C>> newEntries = new HashMap<>(types.length);
+		for (BlockEntityType<?> type : types) {
+			newEntries.put(type, provider);
+		}
+
+		Map<? extends BlockEntityType<?>, ? extends BlockEntityAttributeProvider<A, C>> existing = blockEntityProviders.putWhereAbsent(newEntries);
+		version.incrementAndGet();
+		return existing;
+	}
+
+	@Override
+	public void registerFallback(BlockAttributeProvider<A, C> provider) {
+		Objects.requireNonNull(provider, "BlockAttributeProvider may not be null");
+
+		fallbackProviders.add(provider);
+	}
+
+	@Override
+	public Identifier getId() {
+		return id;
+	}
+
+	@Override
+	public Class<A> attributeClass() {
+		return attributeClass;
+	}
+
+	@Override
+	public Class<C> contextClass() {
+		return contextClass;
+	}
+
+	@Override
+	public LookupStatistics getStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public @Nullable BlockAttributeProvider<A, C> getProvider(Block block) {
+		return blockProviders.get(block);
+	}
+
+	@Override
+	public @Nullable BlockEntityAttributeProvider<A, C> getProvider(BlockEntityType<?> type) {
+		return blockEntityProviders.get(type);
+	}
+
+	/**
+	 * {@return a number which changes whenever a provider is registered to this lookup}
+	 */
+	int getVersion() {
+		return version.get();
+	}
+}
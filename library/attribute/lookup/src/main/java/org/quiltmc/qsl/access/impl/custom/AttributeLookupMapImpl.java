@@ -20,31 +20,46 @@ import net.minecraft.util.Identifier;
 import org.jetbrains.annotations.NotNull;
 import org.quiltmc.qsl.access.api.custom.AttributeLookupMap;
 
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @param <L> The type of the lookup handled by the map.
  */
 public final class AttributeLookupMapImpl<L> implements AttributeLookupMap<L> {
-	private final Map<Identifier, StoredLookup<L>> lookups = new HashMap<>();
+	// Every map, so the statistics of their lookups can be gathered
+	private static final List<AttributeLookupMap<?>> MAPS = new CopyOnWriteArrayList<>();
+
+	// Lookups are often retrieved at query time, so reads must not lock
+	private final ConcurrentMap<Identifier, StoredLookup<L>> lookups = new ConcurrentHashMap<>();
 	private final LookupConstructor<L> lookupConstructor;
 
 	public AttributeLookupMapImpl(LookupConstructor<L> lookupConstructor) {
 		this.lookupConstructor = lookupConstructor;
+		MAPS.add(this);
+	}
+
+	public static List<AttributeLookupMap<?>> getMaps() {
+		return MAPS;
 	}
 
 	@Override
-	public synchronized L getLookup(Identifier id, Class<?> attributeClass, Class<?> contextClass) {
+	public L getLookup(Identifier id, Class<?> attributeClass, Class<?> contextClass) {
 		Objects.requireNonNull(id, "Lookup ID may not be null");
 		Objects.requireNonNull(attributeClass, "Attribute class may not be null");
 		Objects.requireNonNull(contextClass, "Context class may not be null");
 
-		StoredLookup<L> storedLookup = lookups.computeIfAbsent(id,
-				newId -> new StoredLookup<>(lookupConstructor.get(newId, attributeClass, contextClass), attributeClass, contextClass)
-		);
+		StoredLookup<L> storedLookup = lookups.get(id);
+		if (storedLookup == null) {
+			// Only creating a lookup locks, and only the bin of its identifier
+			storedLookup = lookups.computeIfAbsent(id,
+					newId -> new StoredLookup<>(lookupConstructor.get(newId, attributeClass, contextClass), attributeClass, contextClass)
+			);
+		}
 
 		if (storedLookup.attributeClass == attributeClass && storedLookup.contextClass == contextClass) {
 			return storedLookup.accessor;
@@ -64,8 +79,20 @@ public final class AttributeLookupMapImpl<L> implements AttributeLookupMap<L> {
 
 	@NotNull
 	@Override
-	public synchronized Iterator<L> iterator() {
-		return lookups.values().stream().map(storedLookup -> storedLookup.accessor).toList().iterator();
+	public Iterator<L> iterator() {
+		// Weakly consistent: lookups created during the iteration may or may not be returned
+		Iterator<StoredLookup<L>> iterator = lookups.values().iterator();
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public L next() {
+				return iterator.next().accessor;
+			}
+		};
 	}
 
 	private record StoredLookup<L>(L accessor, Class<?> attributeClass, Class<?> contextClass) {}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.custom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable list of fallback providers, with a cache recording for each registry entry which fallback, if any,
+ * answered for it. Registering a fallback creates a new instance, which invalidates the cache.
+ *
+ * Results are only cached for cacheable fallbacks, whose answer is assumed to depend only on the registry entry, and
+ * not on the rest of the queried object (such as stack NBT) nor the context. Entries are identified by their cached
+ * raw ID, see {@link RawIdCache}.
+ *
+ * @param <P> The type of the providers
+ */
+public final class CachedFallbacks<P> {
+	// Cached results: the fallback at index i answered is stored as i + 1
+	private static final int UNKNOWN = 0;
+	private static final int NONE = -1;
+
+	private final List<P> providers;
+	private final boolean[] cacheable;
+	private final boolean anyUncacheable;
+	// Not synchronized: results are deterministic, so racing writes store the same value
+	private final int[] results;
+
+	private CachedFallbacks(List<P> providers, boolean[] cacheable, int rawIdCount) {
+		this.providers = providers;
+		this.cacheable = cacheable;
+		boolean anyUncacheable = false;
+		for (boolean c : cacheable) {
+			anyUncacheable |= !c;
+		}
+		this.anyUncacheable = anyUncacheable;
+		this.results = new int[rawIdCount];
+	}
+
+	public static <P> CachedFallbacks<P> empty() {
+		return new CachedFallbacks<>(List.of(), new boolean[0], 0);
+	}
+
+	/**
+	 * Return a copy of this list with a new fallback at the end, and an empty cache
+	 *
+	 * @param rawIdCount The number of raw IDs to cache results for
+	 */
+	public CachedFallbacks<P> with(P provider, boolean cacheable, int rawIdCount) {
+		List<P> providers = new ArrayList<>(this.providers);
+		providers.add(provider);
+		boolean[] newCacheable = Arrays.copyOf(this.cacheable, this.cacheable.length + 1);
+		newCacheable[this.cacheable.length] = cacheable;
+		return new CachedFallbacks<>(List.copyOf(providers), newCacheable, rawIdCount);
+	}
+
+	/**
+	 * Return a copy of this list with an empty cache for the specified number of raw IDs
+	 */
+	public CachedFallbacks<P> resized(int rawIdCount) {
+		return new CachedFallbacks<>(providers, cacheable, rawIdCount);
+	}
+
+	/**
+	 * Return the cached result for the entry with the specified raw ID, or {@link #UNKNOWN}
+	 */
+	private int getCachedResult(int rawId) {
+		return rawId >= 0 && rawId < results.length ? results[rawId] : UNKNOWN;
+	}
+
+	/**
+	 * Query the fallbacks for the entry with the specified raw ID, in order, skipping the cacheable ones known not to
+	 * answer for it, and cache which cacheable fallback answered
+	 *
+	 * @param rawId The raw ID of the queried entry
+	 * @param query Queries a fallback, returning its answer or {@code null}
+	 * @return The first answer of a fallback, or {@code null} if none answered
+	 */
+	public <A> @Nullable A find(int rawId, Function<P, @Nullable A> query) {
+		if (providers.isEmpty()) {
+			return null;
+		}
+
+		int cached = getCachedResult(rawId);
+
+		// The common case: the cache knows which fallback answers, if any
+		if (cached != UNKNOWN && !anyUncacheable) {
+			return cached == NONE ? null : query.apply(providers.get(cached - 1));
+		}
+
+		for (int i = 0; i < providers.size(); i++) {
+			// Skip cacheable fallbacks known not to answer for this entry
+			if (cacheable[i] && cached != UNKNOWN && cached != i + 1) {
+				continue;
+			}
+
+			A instance = query.apply(providers.get(i));
+			if (instance != null) {
+				if (cacheable[i] && cached == UNKNOWN) {
+					cacheResult(rawId, i + 1);
+				}
+
+				return instance;
+			}
+		}
+
+		if (cached == UNKNOWN) {
+			cacheResult(rawId, NONE);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Cache the result for the entry with the specified raw ID
+	 *
+	 * @param result The index of the cacheable fallback which answered plus one, or {@link #NONE}
+	 */
+	private void cacheResult(int rawId, int result) {
+		if (rawId >= 0 && rawId < results.length) {
+			results[rawId] = result;
+		}
+	}
+}
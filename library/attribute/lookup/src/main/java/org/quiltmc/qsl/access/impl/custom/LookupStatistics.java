@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.custom;
+
+import net.minecraft.util.Identifier;
+import org.quiltmc.qsl.access.api.custom.AttributeLookupMap;
+import org.quiltmc.qsl.access.api.custom.AttributeLookupStatistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics recorded by a single attribute lookup.
+ *
+ * Lookups only call the recording methods when {@link #ENABLED} is set, which the JIT folds away otherwise.
+ */
+public final class LookupStatistics {
+	public static final boolean ENABLED = Boolean.getBoolean("quilt.attribute_lookup.statistics");
+
+	private final Identifier id;
+	private final Class<?> lookupType;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder fallbackHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder providerNanos = new LongAdder();
+
+	public LookupStatistics(Identifier id, Class<?> lookupType) {
+		this.id = id;
+		this.lookupType = lookupType;
+	}
+
+	/**
+	 * Get the start time of a query, to pass to the recording methods
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Record a query answered by the provider registered for the queried object
+	 */
+	public void recordHit(long start) {
+		hits.increment();
+		providerNanos.add(System.nanoTime() - start);
+	}
+
+	/**
+	 * Record a query which went through the fallback providers
+	 *
+	 * @param found Whether a fallback provider answered
+	 */
+	public void recordFallback(long start, boolean found) {
+		(found ? fallbackHits : misses).increment();
+		providerNanos.add(System.nanoTime() - start);
+	}
+
+	public AttributeLookupStatistics snapshot() {
+		return new AttributeLookupStatistics(id, lookupType, hits.sum(), fallbackHits.sum(), misses.sum(), providerNanos.sum());
+	}
+
+	public static List<AttributeLookupStatistics> getAll() {
+		List<AttributeLookupStatistics> statistics = new ArrayList<>();
+		if (!ENABLED) {
+			return statistics;
+		}
+
+		for (AttributeLookupMap<?> map : AttributeLookupMapImpl.getMaps()) {
+			for (Object lookup : map) {
+				if (lookup instanceof Tracked tracked) {
+					statistics.add(tracked.getStatistics().snapshot());
+				}
+			}
+		}
+
+		statistics.sort(Comparator.comparingLong(AttributeLookupStatistics::providerNanos).reversed());
+		return statistics;
+	}
+
+	/**
+	 * Implemented by lookups which record statistics
+	 */
+	public interface Tracked {
+		LookupStatistics getStatistics();
+	}
+}
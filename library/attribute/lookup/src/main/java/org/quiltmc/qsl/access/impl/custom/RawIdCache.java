@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.custom;
+
+/**
+ * A duck interface for registry entries which cache their raw ID, so attribute lookups can index dense tables
+ * without going through the registry's own hash map.
+ *
+ * The cached raw ID is {@code -1} until the registry of the entry is frozen.
+ */
+public interface RawIdCache {
+	int quilt$getCachedRawId();
+
+	void quilt$setCachedRawId(int rawId);
+
+	/**
+	 * Get the cached raw ID of a registry entry, or {@code -1} if it is not cached yet
+	 */
+	static int get(Object entry) {
+		return ((RawIdCache) entry).quilt$getCachedRawId();
+	}
+}
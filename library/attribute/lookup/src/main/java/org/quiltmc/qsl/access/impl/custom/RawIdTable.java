@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.custom;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable, read-optimized copy of a provider map, whose values are stored in a dense array indexed by the raw ID
+ * of their key. Looking up a key is an array access and a reference comparison, without any hashing.
+ *
+ * Keys without a raw ID, or whose raw ID collides with another key, are kept in a regular map instead.
+ *
+ * @param <K> The key type of the table, evaluated by reference ({@code ==})
+ * @param <V> The value type of the table
+ */
+public final class RawIdTable<K, V> {
+	private final Object[] keys;
+	private final Object[] values;
+	private final Map<K, V> unindexed;
+
+	private RawIdTable(Object[] keys, Object[] values, Map<K, V> unindexed) {
+		this.keys = keys;
+		this.values = values;
+		this.unindexed = unindexed;
+	}
+
+	/**
+	 * Compile a map into a table
+	 *
+	 * @param map The map to copy
+	 * @param rawIds The function giving the raw ID of a key, or {@code -1} if it has none
+	 */
+	public static <K, V> RawIdTable<K, V> compile(Map<K, V> map, ToIntFunction<K> rawIds) {
+		int length = 0;
+		for (K key : map.keySet()) {
+			length = Math.max(length, rawIds.applyAsInt(key) + 1);
+		}
+
+		Object[] keys = new Object[length];
+		Object[] values = new Object[length];
+		Map<K, V> unindexed = new IdentityHashMap<>();
+
+		for (Map.Entry<K, V> entry : map.entrySet()) {
+			int rawId = rawIds.applyAsInt(entry.getKey());
+			if (rawId >= 0 && keys[rawId] == null) {
+				keys[rawId] = entry.getKey();
+				values[rawId] = entry.getValue();
+			} else {
+				unindexed.put(entry.getKey(), entry.getValue());
+			}
+		}
+
+		return new RawIdTable<>(keys, values, unindexed.isEmpty() ? Collections.emptyMap() : unindexed);
+	}
+
+	/**
+	 * Return the value associated with the specified key, if one exists
+	 *
+	 * @param key The key
+	 * @param rawId The raw ID of the key, as given by the function used to compile this table
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable V get(K key, int rawId) {
+		if (rawId >= 0) {
+			if (rawId >= this.keys.length) {
+				return null;
+			}
+
+			Object indexedKey = this.keys[rawId];
+			if (indexedKey == key) {
+				return (V) this.values[rawId];
+			} else if (indexedKey == null) {
+				return null;
+			}
+		}
+
+		return this.unindexed.get(key);
+	}
+}
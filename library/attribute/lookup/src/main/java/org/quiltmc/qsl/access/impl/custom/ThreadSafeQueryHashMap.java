@@ -31,13 +31,38 @@ public class ThreadSafeQueryHashMap<K, V> implements ThreadSafeQueryMap<K, V> {
 	// A logger to report any not-quite-errors to the user
 	private static final Logger LOGGER = LoggerFactory.getLogger("quilt-attribute-lookup");
 
-	// The backing map which actually does everything for us
+	// The backing map which actually does everything for us, once frozen
 	private volatile Map<K, V> contents = Collections.emptyMap();
+	// The map accumulating writes in place until the map is frozen, guarded by this
+	private IdentityHashMap<K, V> building;
+	private volatile boolean frozen;
+
+	public ThreadSafeQueryHashMap() {
+		this(true);
+	}
+
+	/**
+	 * @param frozen Whether the map starts frozen, or accumulates writes until {@link #freeze()} is called
+	 */
+	public ThreadSafeQueryHashMap(boolean frozen) {
+		this.frozen = frozen;
+		if (!frozen) {
+			building = new IdentityHashMap<>();
+		}
+	}
 
 	@Override
 	public V get(K key) {
 		Objects.requireNonNull(key, "Key may not be null");
 
+		if (!frozen) {
+			synchronized (this) {
+				if (building != null) {
+					return building.get(key);
+				}
+			}
+		}
+
 		return contents.get(key);
 	}
 
@@ -46,6 +71,11 @@ public class ThreadSafeQueryHashMap<K, V> implements ThreadSafeQueryMap<K, V> {
 		Objects.requireNonNull(key, "Key may not be null");
 		Objects.requireNonNull(value, "Value may not be null");
 
+		// No one can read the building map without holding the lock, so it can be written in place
+		if (building != null) {
+			return building.putIfAbsent(key, value);
+		}
+
 		// Copy-on-write to avoid collision when read or write is occurring simultaneously
 		IdentityHashMap<K, V> newCopy = new IdentityHashMap<>(contents.size()+1);
 		newCopy.putAll(contents);
@@ -68,8 +98,14 @@ public class ThreadSafeQueryHashMap<K, V> implements ThreadSafeQueryMap<K, V> {
 
 		// Put the contents into the map, filtering out entries which already exist within it
 		IdentityHashMap<K, V> returnMap = new IdentityHashMap<>();
-		IdentityHashMap<K, V> newCopy = new IdentityHashMap<>(Math.max(contents.size(), m.size()));
-		newCopy.putAll(contents);
+		IdentityHashMap<K, V> newCopy;
+		if (building != null) {
+			newCopy = building;
+		} else {
+			newCopy = new IdentityHashMap<>(contents.size() + m.size());
+			newCopy.putAll(contents);
+		}
+
 		for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
 			K key = entry.getKey();
 			// Only add entries if they are associated with new keys
@@ -89,12 +125,37 @@ public class ThreadSafeQueryHashMap<K, V> implements ThreadSafeQueryMap<K, V> {
 		}
 
 		// Tidy up with the re-assignment and return
-		contents = Collections.unmodifiableMap(newCopy);
+		if (building == null) {
+			contents = Collections.unmodifiableMap(newCopy);
+		}
+
 		return returnMap;
 	}
 
+	@Override
+	public synchronized void freeze() {
+		if (building != null) {
+			contents = Collections.unmodifiableMap(new IdentityHashMap<>(building));
+			frozen = true;
+			building = null;
+		}
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+
 	@Override
 	public @Unmodifiable Map<K, V> getBackingMap() {
+		if (!frozen) {
+			synchronized (this) {
+				if (building != null) {
+					return Collections.unmodifiableMap(new IdentityHashMap<>(building));
+				}
+			}
+		}
+
 		return contents;
 	}
 }
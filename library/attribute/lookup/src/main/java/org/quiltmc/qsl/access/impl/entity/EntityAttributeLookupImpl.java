@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021-2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.impl.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.Nullable;
+import org.quiltmc.qsl.access.api.custom.AttributeLookupMap;
+import org.quiltmc.qsl.access.api.custom.ThreadSafeQueryMap;
+import org.quiltmc.qsl.access.api.entity.EntityAttributeLookup;
+import org.quiltmc.qsl.access.impl.custom.CachedFallbacks;
+import org.quiltmc.qsl.access.impl.custom.LookupStatistics;
+import org.quiltmc.qsl.access.impl.custom.RawIdCache;
+import org.quiltmc.qsl.access.impl.custom.RawIdTable;
+
+import java.util.*;
+
+public class EntityAttributeLookupImpl<A, C> implements EntityAttributeLookup<A, C>, LookupStatistics.Tracked {
+	// The central map managing the entity lookups for us
+	private static final AttributeLookupMap<EntityAttributeLookup<?, ?>> LOOKUPS = AttributeLookupMap.create(EntityAttributeLookupImpl::new);
+	// Whether the entity type registry is frozen, and raw IDs are cached in the entity types
+	private static volatile boolean typesFrozen = false;
+	private static volatile int typeRawIdCount = 0;
+
+	// The components of the lookup
+	private final Identifier id;
+	private final Class<A> attributeClass;
+	private final Class<C> contextClass;
+	private final LookupStatistics statistics;
+
+	// Provider tracking objects, both for "ideal" and fallback cases
+	// Until entity types are frozen, providers are registered without copying the whole map every time
+	private final ThreadSafeQueryMap<EntityType<?>, EntityAttributeProvider<A, C>> providerMap = typesFrozen ? ThreadSafeQueryMap.create() : ThreadSafeQueryMap.createUnfrozen();
+	// Replaced as a whole when a fallback is registered, which also invalidates its cache
+	private volatile CachedFallbacks<EntityAttributeProvider<A, C>> fallbackProviders = CachedFallbacks.empty();
+	// The provider map compiled into a table indexed by raw ID, once the entity type registry is frozen
+	private volatile RawIdTable<EntityType<?>, EntityAttributeProvider<A, C>> providerTable;
+
+	@SuppressWarnings("unchecked")
+	public static <A, C> EntityAttributeLookup<A, C> get(Identifier id, Class<A> attributeClass, Class<C> contextClass) {
+		return (EntityAttributeLookup<A, C>) LOOKUPS.getLookup(id, attributeClass, contextClass);
+	}
+
+	/**
+	 * Caches the raw ID of every entity type, then compiles the providers of every lookup into raw ID tables.
+	 * Called once the entity type registry is frozen, since raw IDs cannot change afterwards.
+	 */
+	public static void onEntityTypeRegistryFrozen() {
+		int rawIdCount = 0;
+		for (EntityType<?> type : Registry.ENTITY_TYPE) {
+			int rawId = Registry.ENTITY_TYPE.getRawId(type);
+			((RawIdCache) type).quilt$setCachedRawId(rawId);
+			rawIdCount = Math.max(rawIdCount, rawId + 1);
+		}
+
+		typeRawIdCount = rawIdCount;
+		typesFrozen = true;
+
+		for (EntityAttributeLookup<?, ?> lookup : LOOKUPS) {
+			EntityAttributeLookupImpl<?, ?> impl = (EntityAttributeLookupImpl<?, ?>) lookup;
+			impl.compileProviderTable();
+			impl.resizeFallbackCache();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private EntityAttributeLookupImpl(Identifier id, Class<?> attributeClass, Class<?> contextClass) {
+		this.id = id;
+		this.attributeClass = (Class<A>) attributeClass;
+		this.contextClass = (Class<C>) contextClass;
+		this.statistics = new LookupStatistics(id, EntityAttributeLookup.class);
+	}
+
+	@Override
+	public @Nullable A find(Entity entity, C context) {
+		// Sanity check the entity
+		Objects.requireNonNull(entity, "Entity may not be null");
+
+		// Try to find a provider in the primary lookup table, or map if it isn't compiled yet
+		EntityType<?> type = entity.getType();
+		RawIdTable<EntityType<?>, EntityAttributeProvider<A, C>> table = providerTable;
+		EntityAttributeProvider<A, C> provider = table != null ? table.get(type, RawIdCache.get(type)) : providerMap.get(type);
+		long start = LookupStatistics.start();
+		if (provider != null) {
+			A instance = provider.find(entity, context);
+			if (instance != null) {
+				if (LookupStatistics.ENABLED) {
+					statistics.recordHit(start);
+				}
+
+				return instance;
+			}
+		}
+
+		// If the prior failed, try the fallbacks
+		A instance = findFallback(entity, type, context);
+		if (LookupStatistics.ENABLED) {
+			statistics.recordFallback(start, instance != null);
+		}
+
+		return instance;
+	}
+
+	private @Nullable A findFallback(Entity entity, EntityType<?> type, C context) {
+		return fallbackProviders.find(RawIdCache.get(type), provider -> provider.find(entity, context));
+	}
+
+	@Override
+	public Map<? extends EntityType<?>, ? extends EntityAttributeProvider<A, C>> registerSelf(EntityType<?>... types) {
+		// Entity types don't know the class of their entities, so it can only be checked at query time
+		return registerForTypes((entity, context) -> attributeClass.isInstance(entity) ? attributeClass.cast(entity) : null, types);
+	}
+
+	@Override
+	public Map<? extends EntityType<?>, ? extends EntityAttributeProvider<A, C>> registerForTypes(EntityAttributeProvider<A, C> provider, EntityType<?>... types) {
+		// Sanity check some requirements for the to-be-registered entity types
+		Objects.requireNonNull(provider, "EntityAttributeProvider may not be null");
+
+		if (types.length == 0) {
+			throw new IllegalArgumentException("At least one EntityType must be provided when registering an EntityAttributeProvider instance.");
+		}
+
+		// Register the new type/attribute-providers, skipping over duplicates
+		Map<EntityType<?>, EntityAttributeProvider<A, C>> newEntries = new HashMap<>(types.length);
+		for (EntityType<?> type : types) {
+			newEntries.put(type, provider);
+		}
+
+		Map<? extends EntityType<?>, ? extends EntityAttributeProvider<A, C>> existing = providerMap.putWhereAbsent(newEntries);
+
+		// Late registrations recompile the table right away
+		if (typesFrozen) {
+			compileProviderTable();
+		}
+
+		return existing;
+	}
+
+	@Override
+	public void registerFallback(EntityAttributeProvider<A, C> provider) {
+		// Entity answers usually depend on the entity itself, not only on its type
+		registerFallback(provider, false);
+	}
+
+	@Override
+	public synchronized void registerFallback(EntityAttributeProvider<A, C> provider, boolean cacheable) {
+		Objects.requireNonNull(provider, "EntityAttributeProvider may not be null");
+
+		fallbackProviders = fallbackProviders.with(provider, cacheable, typeRawIdCount);
+	}
+
+	@Override
+	public Identifier getId() {
+		return id;
+	}
+
+	@Override
+	public Class<A> attributeClass() {
+		return attributeClass;
+	}
+
+	@Override
+	public Class<C> contextClass() {
+		return contextClass;
+	}
+
+	@Override
+	public LookupStatistics getStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public @Nullable EntityAttributeProvider<A, C> getProvider(EntityType<?> type) {
+		return providerMap.get(type);
+	}
+
+	private synchronized void resizeFallbackCache() {
+		fallbackProviders = fallbackProviders.resized(typeRawIdCount);
+	}
+
+	// Synchronized so a table compiled from an older map can never replace a newer one
+	private synchronized void compileProviderTable() {
+		providerMap.freeze();
+		providerTable = RawIdTable.compile(providerMap.getBackingMap(), RawIdCache::get);
+	}
+}
@@ -20,37 +20,72 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemConvertible;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
 import org.jetbrains.annotations.Nullable;
 import org.quiltmc.qsl.access.api.custom.AttributeLookupMap;
 import org.quiltmc.qsl.access.api.custom.ThreadSafeQueryMap;
+import org.quiltmc.qsl.access.impl.custom.CachedFallbacks;
+import org.quiltmc.qsl.access.impl.custom.LookupStatistics;
+import org.quiltmc.qsl.access.impl.custom.RawIdCache;
+import org.quiltmc.qsl.access.impl.custom.RawIdTable;
 import org.quiltmc.qsl.access.api.item.ItemAttributeLookup;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
-public class ItemAttributeLookupImpl<A, C> implements ItemAttributeLookup<A, C> {
+public class ItemAttributeLookupImpl<A, C> implements ItemAttributeLookup<A, C>, LookupStatistics.Tracked {
 	// The central map managing the item lookups for us
 	private static final AttributeLookupMap<ItemAttributeLookup<?, ?>> LOOKUPS = AttributeLookupMap.create(ItemAttributeLookupImpl::new);
+	// Whether the item registry is frozen, and raw IDs are cached in the items
+	private static volatile boolean itemsFrozen = false;
+	private static volatile int itemRawIdCount = 0;
 
 	// The components of the lookup
 	private final Identifier id;
 	private final Class<A> attributeClass;
 	private final Class<C> contextClass;
+	private final LookupStatistics statistics;
 
 	// Provider tracking objects, both for "ideal" and fallback cases
-	private final ThreadSafeQueryMap<Item, ItemAttributeProvider<A, C>> providerMap = ThreadSafeQueryMap.create();
-	private final List<ItemAttributeProvider<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	// Until items are frozen, providers are registered without copying the whole map every time
+	private final ThreadSafeQueryMap<Item, ItemAttributeProvider<A, C>> providerMap = itemsFrozen ? ThreadSafeQueryMap.create() : ThreadSafeQueryMap.createUnfrozen();
+	// Replaced as a whole when a fallback is registered, which also invalidates its cache
+	private volatile CachedFallbacks<ItemAttributeProvider<A, C>> fallbackProviders = CachedFallbacks.empty();
+	// The provider map compiled into a table indexed by raw ID, once the item registry is frozen
+	private volatile RawIdTable<Item, ItemAttributeProvider<A, C>> providerTable;
 
 	@SuppressWarnings("unchecked")
 	public static <A, C> ItemAttributeLookup<A, C> get(Identifier id, Class<A> attributeClass, Class<C> contextClass) {
 		return (ItemAttributeLookup<A, C>) LOOKUPS.getLookup(id, attributeClass, contextClass);
 	}
 
+	/**
+	 * Caches the raw ID of every item, then compiles the providers of every lookup into raw ID tables.
+	 * Called once the item registry is frozen, since raw IDs cannot change afterwards.
+	 */
+	public static void onItemRegistryFrozen() {
+		int rawIdCount = 0;
+		for (Item item : Registry.ITEM) {
+			int rawId = Registry.ITEM.getRawId(item);
+			((RawIdCache) item).quilt$setCachedRawId(rawId);
+			rawIdCount = Math.max(rawIdCount, rawId + 1);
+		}
+
+		itemRawIdCount = rawIdCount;
+		itemsFrozen = true;
+
+		for (ItemAttributeLookup<?, ?> lookup : LOOKUPS) {
+			ItemAttributeLookupImpl<?, ?> impl = (ItemAttributeLookupImpl<?, ?>) lookup;
+			impl.compileProviderTable();
+			impl.resizeFallbackCache();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private ItemAttributeLookupImpl(Identifier id, Class<?> attributeClass, Class<?> contextClass) {
 		this.id = id;
 		this.attributeClass = (Class<A>) attributeClass;
 		this.contextClass = (Class<C>) contextClass;
+		this.statistics = new LookupStatistics(id, ItemAttributeLookup.class);
 	}
 
 	@Override
@@ -58,25 +93,66 @@ public class ItemAttributeLookupImpl<A, C> implements ItemAttributeLookup<A, C>
 		// Sanity check the stack
 		Objects.requireNonNull(stack, "ItemStack may not be null");
 
-		// Try to find a provider in the primary lookup map
-		ItemAttributeProvider<A, C> provider = providerMap.get(stack.getItem());
-		if (provider != null) {
-			A instance = provider.find(stack, context);
+		// Try to find a provider in the primary lookup table, or map if it isn't compiled yet
+		Item item = stack.getItem();
+		return find(stack, item, resolveProvider(providerTable, item), context);
+	}
+
+	@Override
+	public void findAll(List<ItemStack> stacks, C context, IndexedAttributeConsumer<A> consumer) {
+		Objects.requireNonNull(stacks, "ItemStack list may not be null");
+		Objects.requireNonNull(consumer, "IndexedAttributeConsumer may not be null");
+
+		// Inventories are mostly runs of the same item, so the provider is only resolved again when the item changes
+		RawIdTable<Item, ItemAttributeProvider<A, C>> table = providerTable;
+		Item lastItem = null;
+		ItemAttributeProvider<A, C> provider = null;
+
+		for (int i = 0, size = stacks.size(); i < size; i++) {
+			ItemStack stack = stacks.get(i);
+			Objects.requireNonNull(stack, "ItemStack may not be null");
+
+			Item item = stack.getItem();
+			if (item != lastItem) {
+				provider = resolveProvider(table, item);
+				lastItem = item;
+			}
+
+			A instance = find(stack, item, provider, context);
 			if (instance != null) {
-				return instance;
+				consumer.accept(i, instance);
 			}
 		}
+	}
 
-		// If the prior failed, try each of the fallbacks
-		for (ItemAttributeProvider<A, C> fallbackProvider : fallbackProviders) {
-			A instance = fallbackProvider.find(stack, context);
+	private @Nullable ItemAttributeProvider<A, C> resolveProvider(@Nullable RawIdTable<Item, ItemAttributeProvider<A, C>> table, Item item) {
+		return table != null ? table.get(item, RawIdCache.get(item)) : providerMap.get(item);
+	}
 
+	private @Nullable A find(ItemStack stack, Item item, @Nullable ItemAttributeProvider<A, C> provider, C context) {
+		long start = LookupStatistics.start();
+		if (provider != null) {
+			A instance = provider.find(stack, context);
 			if (instance != null) {
+				if (LookupStatistics.ENABLED) {
+					statistics.recordHit(start);
+				}
+
 				return instance;
 			}
 		}
 
-		return null;
+		// If the prior failed, try the fallbacks
+		A instance = findFallback(stack, item, context);
+		if (LookupStatistics.ENABLED) {
+			statistics.recordFallback(start, instance != null);
+		}
+
+		return instance;
+	}
+
+	private @Nullable A findFallback(ItemStack stack, Item item, C context) {
+		return fallbackProviders.find(RawIdCache.get(item), provider -> provider.find(stack, context));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -113,14 +189,26 @@ public class ItemAttributeLookupImpl<A, C> implements ItemAttributeLookup<A, C>
 			Item item = itemConvertible.asItem();
 			newEntries.put(item, provider);
 		}));
-		return providerMap.putWhereAbsent(newEntries);
+		Map<? extends Item, ? extends ItemAttributeProvider<A, C>> existing = providerMap.putWhereAbsent(newEntries);
+
+		// Late registrations recompile the table right away
+		if (itemsFrozen) {
+			compileProviderTable();
+		}
+
+		return existing;
 	}
 
 	@Override
 	public void registerFallback(ItemAttributeProvider<A, C> provider) {
+		registerFallback(provider, true);
+	}
+
+	@Override
+	public synchronized void registerFallback(ItemAttributeProvider<A, C> provider, boolean cacheable) {
 		Objects.requireNonNull(provider, "ItemAttributeProvider may not be null");
 
-		fallbackProviders.add(provider);
+		fallbackProviders = fallbackProviders.with(provider, cacheable, itemRawIdCount);
 	}
 
 	@Override
@@ -138,8 +226,23 @@ public class ItemAttributeLookupImpl<A, C> implements ItemAttributeLookup<A, C>
 		return contextClass;
 	}
 
+	@Override
+	public LookupStatistics getStatistics() {
+		return statistics;
+	}
+
 	@Override
 	public @Nullable ItemAttributeProvider<A, C> getProvider(Item item) {
 		return providerMap.get(item);
 	}
+
+	private synchronized void resizeFallbackCache() {
+		fallbackProviders = fallbackProviders.resized(itemRawIdCount);
+	}
+
+	// Synchronized so a table compiled from an older map can never replace a newer one
+	private synchronized void compileProviderTable() {
+		providerMap.freeze();
+		providerTable = RawIdTable.compile(providerMap.getBackingMap(), RawIdCache::get);
+	}
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.mixin;
+
+import net.minecraft.item.Item;
+import org.quiltmc.qsl.access.impl.custom.RawIdCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Item.class)
+public abstract class ItemMixin implements RawIdCache {
+	@Unique
+	private int quilt$cachedRawId = -1;
+
+	@Override
+	public int quilt$getCachedRawId() {
+		return this.quilt$cachedRawId;
+	}
+
+	@Override
+	public void quilt$setCachedRawId(int rawId) {
+		this.quilt$cachedRawId = rawId;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.access.mixin;
+
+import net.minecraft.util.registry.Registry;
+import org.quiltmc.qsl.access.impl.block.BlockAttributeLookupImpl;
+import org.quiltmc.qsl.access.impl.entity.EntityAttributeLookupImpl;
+import org.quiltmc.qsl.access.impl.item.ItemAttributeLookupImpl;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Registry.class)
+public abstract class RegistryMixin {
+	@Inject(method = "freezeBuiltins", at = @At("RETURN"))
+	private static void onFreezeBuiltins(CallbackInfo ci) {
+		ItemAttributeLookupImpl.onItemRegistryFrozen();
+		BlockAttributeLookupImpl.onRegistriesFrozen();
+		EntityAttributeLookupImpl.onEntityTypeRegistryFrozen();
+	}
+}
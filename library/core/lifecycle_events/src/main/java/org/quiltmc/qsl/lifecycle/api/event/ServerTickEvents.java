@@ -36,11 +36,7 @@ public final class ServerTickEvents {
 	/**
 	 * An event indicating an iteration of the server's tick loop will start.
 	 */
-	public static final Event<Start> START = Event.create(Start.class, callbacks -> server -> {
-		for (var callback : callbacks) {
-			callback.startServerTick(server);
-		}
-	});
+	public static final Event<Start> START = Event.createUnrolled(Start.class);
 
 	/**
 	 * An event indicating the server has finished an iteration of the tick loop.
@@ -48,11 +44,7 @@ public final class ServerTickEvents {
 	 * <p>Since there will be a time gap before the next tick, this is a great spot to run any asynchronous operations
 	 * for the next tick.
 	 */
-	public static final Event<End> END = Event.create(End.class, callbacks -> server -> {
-		for (var callback : callbacks) {
-			callback.endServerTick(server);
-		}
-	});
+	public static final Event<End> END = Event.createUnrolled(End.class);
 
 	private ServerTickEvents() {
 	}
@@ -18,9 +18,12 @@ package org.quiltmc.qsl.lifecycle.api.event;
 
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.registry.RegistryKey;
+import net.minecraft.world.World;
 
 import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.base.api.event.EventAwareListener;
+import org.quiltmc.qsl.base.api.event.KeyedEvent;
 
 /**
  * Events related to a ticking Minecraft server's worlds.
@@ -34,20 +37,28 @@ public final class ServerWorldTickEvents {
 	/**
 	 * An event indicating that a world will be ticked.
 	 */
-	public static final Event<Start> START = Event.create(Start.class, callbacks -> (server, world) -> {
-		for (var callback : callbacks) {
-			callback.startWorldTick(server, world);
-		}
-	});
+	public static final Event<Start> START = Event.createUnrolled(Start.class);
+
+	/**
+	 * An event indicating that a specific world will be ticked.
+	 * <p>
+	 * Callbacks are registered for the key of the world they are interested in, and are executed after the callbacks of
+	 * {@link #START}.
+	 */
+	public static final KeyedEvent<RegistryKey<World>, Start> START_BY_WORLD = KeyedEvent.createUnrolled(Start.class);
 
 	/**
 	 * An event indicating that a world has finished being ticked.
 	 */
-	public static final Event<End> END = Event.create(End.class, callbacks -> (server, world) -> {
-		for (var callback : callbacks) {
-			callback.endWorldTick(server, world);
-		}
-	});
+	public static final Event<End> END = Event.createUnrolled(End.class);
+
+	/**
+	 * An event indicating that a specific world has finished being ticked.
+	 * <p>
+	 * Callbacks are registered for the key of the world they are interested in, and are executed after the callbacks of
+	 * {@link #END}.
+	 */
+	public static final KeyedEvent<RegistryKey<World>, End> END_BY_WORLD = KeyedEvent.createUnrolled(End.class);
 
 	private ServerWorldTickEvents() {
 	}
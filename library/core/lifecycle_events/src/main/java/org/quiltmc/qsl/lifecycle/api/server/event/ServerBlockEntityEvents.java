@@ -17,8 +17,10 @@
 package org.quiltmc.qsl.lifecycle.api.server.event;
 
 import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.server.world.ServerWorld;
 import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.base.api.event.KeyedEvent;
 
 public class ServerBlockEntityEvents {
 
@@ -34,6 +36,14 @@ public class ServerBlockEntityEvents {
 		}
 	}));
 
+	/**
+	 * An event called whenever a Block Entity of a specific type is loaded on the server.
+	 *
+	 * <p> Callbacks are registered for the block entity type they are interested in,
+	 * and are executed after the callbacks of {@link #BLOCK_ENTITY_LOAD}.
+	 */
+	public static final KeyedEvent<BlockEntityType<?>, Load> BLOCK_ENTITY_LOAD_BY_TYPE = KeyedEvent.createUnrolled(Load.class);
+
 	/**
 	 *
 	 * An event called whenever a Block Entity is unloaded on the server
@@ -47,6 +57,14 @@ public class ServerBlockEntityEvents {
 		}
 	}));
 
+	/**
+	 * An event called whenever a Block Entity of a specific type is unloaded on the server.
+	 *
+	 * <p> Callbacks are registered for the block entity type they are interested in,
+	 * and are executed after the callbacks of {@link #BLOCK_ENTITY_UNLOAD}.
+	 */
+	public static final KeyedEvent<BlockEntityType<?>, Unload> BLOCK_ENTITY_UNLOAD_BY_TYPE = KeyedEvent.createUnrolled(Unload.class);
+
 	@FunctionalInterface
 	public interface Load {
 		void onLoad(BlockEntity blockEntity, ServerWorld world);
@@ -33,11 +33,15 @@ abstract class ServerWorldMixin {
 
 	@Inject(method = "tick", at = @At("HEAD"))
 	private void startTick(CallbackInfo info) {
-		ServerWorldTickEvents.START.invoker().startWorldTick(this.getServer(), (ServerWorld) (Object) this);
+		var world = (ServerWorld) (Object) this;
+		ServerWorldTickEvents.START.invoker().startWorldTick(this.getServer(), world);
+		ServerWorldTickEvents.START_BY_WORLD.invoker(world.getRegistryKey()).startWorldTick(this.getServer(), world);
 	}
 
 	@Inject(method = "tick", at = @At("TAIL"))
 	private void endServerTick(CallbackInfo info) {
-		ServerWorldTickEvents.END.invoker().endWorldTick(this.getServer(), (ServerWorld) (Object) this);
+		var world = (ServerWorld) (Object) this;
+		ServerWorldTickEvents.END.invoker().endWorldTick(this.getServer(), world);
+		ServerWorldTickEvents.END_BY_WORLD.invoker(world.getRegistryKey()).endWorldTick(this.getServer(), world);
 	}
 }
@@ -123,6 +123,8 @@ abstract class WorldChunkMixin {
 	protected void runBlockEntityLoadEvents(BlockEntity removedBlockEntity) {
 		if (removedBlockEntity != null && this.getWorld() instanceof ServerWorld) {
 			ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.invoker().onLoad(removedBlockEntity, (ServerWorld) this.getWorld());
+			ServerBlockEntityEvents.BLOCK_ENTITY_LOAD_BY_TYPE.invoker(removedBlockEntity.getType())
+					.onLoad(removedBlockEntity, (ServerWorld) this.getWorld());
 		}
 	}
 
@@ -133,6 +135,8 @@ abstract class WorldChunkMixin {
 	protected void runBlockEntityUnloadEvents(BlockEntity removedBlockEntity) {
 		if (removedBlockEntity != null && this.getWorld() instanceof ServerWorld) {
 			ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.invoker().onUnload(removedBlockEntity, (ServerWorld) this.getWorld());
+			ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD_BY_TYPE.invoker(removedBlockEntity.getType())
+					.onUnload(removedBlockEntity, (ServerWorld) this.getWorld());
 		}
 	}
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.impl.AbstractNetworkAddon;
+import org.quiltmc.qsl.networking.impl.GlobalReceiverRegistry;
+
+/**
+ * Measures the cost of looking up the handler of an inbound packet from many threads at once, like netty's event loops
+ * do for every custom payload, both with no registration going on and while a thread keeps registering and
+ * unregistering a channel.
+ * <p>
+ * Each lookup queries the global receivers, like the login path does, then the handlers of a connection.
+ * {@code snapshot} uses the actual {@link GlobalReceiverRegistry} for the former and {@link AbstractNetworkAddon} for
+ * the latter, {@code rwlock} maps guarded by a {@link ReentrantReadWriteLock} as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Group)
+public class HandlerLookupBenchmark {
+	private static final int CHANNELS = 32;
+	private static final Identifier DYNAMIC_CHANNEL = new Identifier("quilt_networking_benchmark", "dynamic");
+
+	@Param({"snapshot", "rwlock"})
+	String implementation;
+
+	private Identifier[] channels;
+	private Handlers receivers;
+	private Handlers handlers;
+
+	@Setup
+	public void setup() {
+		this.channels = new Identifier[CHANNELS];
+		this.receivers = this.createHandlers(true);
+		this.handlers = this.createHandlers(false);
+
+		for (int i = 0; i < CHANNELS; i++) {
+			this.channels[i] = new Identifier("quilt_networking_benchmark", "channel_" + i);
+			this.receivers.register(this.channels[i], new Object());
+			this.handlers.register(this.channels[i], new Object());
+		}
+	}
+
+	private Handlers createHandlers(boolean global) {
+		return switch (this.implementation) {
+			case "snapshot" -> global ? new GlobalReceiverHandlers() : new AddonHandlers();
+			case "rwlock" -> new LockedHandlers();
+			default -> throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+		};
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int index;
+	}
+
+	private void query(Cursor cursor, Blackhole blackhole) {
+		Identifier channel = this.channels[cursor.index++ & (CHANNELS - 1)];
+		blackhole.consume(this.receivers.get(channel));
+		blackhole.consume(this.handlers.get(channel));
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void lookup(Cursor cursor, Blackhole blackhole) {
+		this.query(cursor, blackhole);
+	}
+
+	@Benchmark
+	@Group("registering")
+	@GroupThreads(7)
+	public void lookupWhileRegistering(Cursor cursor, Blackhole blackhole) {
+		this.query(cursor, blackhole);
+	}
+
+	@Benchmark
+	@Group("registering")
+	@GroupThreads(1)
+	public Object register() {
+		this.handlers.register(DYNAMIC_CHANNEL, DYNAMIC_CHANNEL);
+		return this.handlers.unregister(DYNAMIC_CHANNEL);
+	}
+
+	private interface Handlers {
+		Object get(Identifier channel);
+
+		void register(Identifier channel, Object handler);
+
+		Object unregister(Identifier channel);
+	}
+
+	private static final class GlobalReceiverHandlers implements Handlers {
+		private final GlobalReceiverRegistry<Object> registry = new GlobalReceiverRegistry<>();
+
+		@Override
+		public Object get(Identifier channel) {
+			return this.registry.getReceiver(channel);
+		}
+
+		@Override
+		public void register(Identifier channel, Object handler) {
+			this.registry.registerGlobalReceiver(channel, handler);
+		}
+
+		@Override
+		public Object unregister(Identifier channel) {
+			return this.registry.unregisterGlobalReceiver(channel);
+		}
+	}
+
+	private static final class AddonHandlers extends AbstractNetworkAddon<Object> implements Handlers {
+		AddonHandlers() {
+			super(new GlobalReceiverRegistry<>(), "Benchmark");
+		}
+
+		@Override
+		public Object get(Identifier channel) {
+			return this.getHandler(channel);
+		}
+
+		@Override
+		public void register(Identifier channel, Object handler) {
+			this.registerChannel(channel, handler);
+		}
+
+		@Override
+		public Object unregister(Identifier channel) {
+			return this.unregisterChannel(channel);
+		}
+
+		@Override
+		protected void handleRegistration(Identifier channelName) {
+		}
+
+		@Override
+		protected void handleUnregistration(Identifier channelName) {
+		}
+
+		@Override
+		protected void invokeDisconnectEvent() {
+		}
+
+		@Override
+		protected boolean isReservedChannel(Identifier channelName) {
+			return false;
+		}
+	}
+
+	private static final class LockedHandlers implements Handlers {
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+		private final Map<Identifier, Object> handlers = new Object2ObjectOpenHashMap<>();
+
+		@Override
+		public Object get(Identifier channel) {
+			Lock lock = this.lock.readLock();
+			lock.lock();
+
+			try {
+				return this.handlers.get(channel);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void register(Identifier channel, Object handler) {
+			Lock lock = this.lock.writeLock();
+			lock.lock();
+
+			try {
+				this.handlers.putIfAbsent(channel, handler);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public Object unregister(Identifier channel) {
+			Lock lock = this.lock.writeLock();
+			lock.lock();
+
+			try {
+				return this.handlers.remove(channel);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
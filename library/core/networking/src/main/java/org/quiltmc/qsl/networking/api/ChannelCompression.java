@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import java.util.zip.Deflater;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+
+/**
+ * Settings for compressing the payloads of a channel with {@link Deflater}, independently of the compression of the
+ * connection.
+ * <p>
+ * This is meant for channels with large and repetitive payloads, which compress much better on their own and with a
+ * preset dictionary than within the connection-wide compression. The settings are registered along with the receiver
+ * of the channel, and advertised to the other side when the channels are registered. Only peers which understand them
+ * compress the payloads they send to the channel, other peers keep sending them uncompressed.
+ *
+ * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, ChannelCompression, ServerPlayNetworking.ChannelReceiver)
+ * @see ClientPlayNetworking#registerGlobalReceiver(Identifier, ChannelCompression, ClientPlayNetworking.ChannelReceiver)
+ */
+public final class ChannelCompression {
+	/**
+	 * The default minimum size of the payloads to compress, in bytes.
+	 */
+	public static final int DEFAULT_THRESHOLD = 256;
+	/**
+	 * The maximum size of a preset dictionary, in bytes, so the settings can be advertised in a single packet.
+	 */
+	public static final int MAX_DICTIONARY_SIZE = 16384;
+	private static final byte[] NO_DICTIONARY = new byte[0];
+
+	private final int level;
+	private final int threshold;
+	private final byte[] dictionary;
+
+	private ChannelCompression(int level, int threshold, byte[] dictionary) {
+		if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+			throw new IllegalArgumentException("Invalid compression level " + level);
+		}
+
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Compression threshold cannot be negative");
+		}
+
+		if (dictionary.length > MAX_DICTIONARY_SIZE) {
+			throw new IllegalArgumentException(String.format("Preset dictionary cannot be larger than %d bytes", MAX_DICTIONARY_SIZE));
+		}
+
+		this.level = level;
+		this.threshold = threshold;
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * {@return compression settings with the default level and threshold, and no preset dictionary}
+	 */
+	public static ChannelCompression deflate() {
+		return new ChannelCompression(Deflater.DEFAULT_COMPRESSION, DEFAULT_THRESHOLD, NO_DICTIONARY);
+	}
+
+	/**
+	 * {@return compression settings with the default level and threshold, and the given preset dictionary}
+	 * <p>
+	 * A good dictionary contains the byte sequences which are the most common in the payloads of the channel, the most
+	 * common ones being at the end.
+	 *
+	 * @param dictionary the preset dictionary, at most {@value #MAX_DICTIONARY_SIZE} bytes long
+	 */
+	public static ChannelCompression deflate(byte[] dictionary) {
+		return new ChannelCompression(Deflater.DEFAULT_COMPRESSION, DEFAULT_THRESHOLD, dictionary.clone());
+	}
+
+	/**
+	 * {@return a copy of these settings with the given compression level}
+	 *
+	 * @param level the compression level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+	 *              or {@link Deflater#DEFAULT_COMPRESSION}
+	 */
+	public ChannelCompression withLevel(int level) {
+		return new ChannelCompression(level, this.threshold, this.dictionary);
+	}
+
+	/**
+	 * {@return a copy of these settings with the given threshold}
+	 *
+	 * @param threshold the minimum size of the payloads to compress, in bytes
+	 */
+	public ChannelCompression withThreshold(int threshold) {
+		return new ChannelCompression(this.level, threshold, this.dictionary);
+	}
+
+	/**
+	 * {@return the compression level}
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * {@return the minimum size of the payloads to compress, in bytes}
+	 */
+	public int getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * {@return whether a preset dictionary is used}
+	 */
+	public boolean hasDictionary() {
+		return this.dictionary.length != 0;
+	}
+
+	/**
+	 * {@return a copy of the preset dictionary, empty if there is none}
+	 */
+	public byte[] getDictionary() {
+		return this.dictionary.clone();
+	}
+
+	@Override
+	public String toString() {
+		return "ChannelCompression{" +
+				"level=" + this.level +
+				", threshold=" + this.threshold +
+				", dictionary=" + this.dictionary.length + " bytes" +
+				'}';
+	}
+}
@@ -19,8 +19,10 @@ package org.quiltmc.qsl.networking.api;
 import org.quiltmc.qsl.base.api.event.Event;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.quiltmc.qsl.base.api.event.EventAwareListener;
+import org.quiltmc.qsl.base.api.event.KeyedEvent;
 
 /**
  * Events related to a tracking entities within a player's view distance.
@@ -37,6 +39,12 @@ public final class EntityTrackingEvents {
 		}
 	});
 
+	/**
+	 * An event that is called before player starts tracking an entity of a specific type.
+	 * Callbacks are registered for the entity type they are interested in, and are executed after the callbacks of {@link #START_TRACKING}.
+	 */
+	public static final KeyedEvent<EntityType<?>, StartTracking> START_TRACKING_BY_TYPE = KeyedEvent.createUnrolled(StartTracking.class);
+
 	/**
 	 * An event that is called after a player has stopped tracking an entity.
 	 * The client at this point was sent a packet to {@link net.minecraft.network.packet.s2c.play.EntitiesDestroyS2CPacket destroy} the entity on the client.
@@ -48,6 +56,12 @@ public final class EntityTrackingEvents {
 		}
 	});
 
+	/**
+	 * An event that is called after a player has stopped tracking an entity of a specific type.
+	 * Callbacks are registered for the entity type they are interested in, and are executed after the callbacks of {@link #STOP_TRACKING}.
+	 */
+	public static final KeyedEvent<EntityType<?>, StopTracking> STOP_TRACKING_BY_TYPE = KeyedEvent.createUnrolled(StopTracking.class);
+
 	@FunctionalInterface
 	public interface StartTracking extends EventAwareListener {
 		/**
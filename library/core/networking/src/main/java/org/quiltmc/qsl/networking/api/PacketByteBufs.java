@@ -19,15 +19,20 @@ package org.quiltmc.qsl.networking.api;
 import java.util.Objects;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 import net.minecraft.network.PacketByteBuf;
 
+import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.impl.PooledPacketByteBuf;
+
 /**
  * Helper methods for working with and creating {@link PacketByteBuf}s.
  */
 public final class PacketByteBufs {
 	private static final PacketByteBuf EMPTY_PACKET_BYTE_BUF = new PacketByteBuf(Unpooled.EMPTY_BUFFER);
+	private static final int DEFAULT_POOLED_SIZE_HINT = 256;
 
 	/**
 	 * Returns an empty instance of packet byte buffer.
@@ -47,6 +52,43 @@ public final class PacketByteBufs {
 		return new PacketByteBuf(Unpooled.buffer());
 	}
 
+	/**
+	 * Returns a new pooled, direct memory-backed instance of packet byte buffer.
+	 *
+	 * @return a new buffer
+	 * @see #createPooled(int)
+	 */
+	public static PacketByteBuf createPooled() {
+		return createPooled(DEFAULT_POOLED_SIZE_HINT);
+	}
+
+	/**
+	 * Returns a new pooled, direct memory-backed instance of packet byte buffer.
+	 * <p>
+	 * Pooled buffers avoid growing a new heap buffer while the payload is written, which matters for mods sending
+	 * many small payloads every tick: a payload sent to a single connection is copied once into a heap buffer of its
+	 * exact size, and a payload sent to many players is encoded once for all of them. Unlike
+	 * {@linkplain #create() heap buffers}, they must be returned to the pool, which happens in exactly one of the
+	 * following ways:
+	 * <ul>
+	 *     <li>sending the buffer once, with {@link ServerPlayNetworking#send}, {@link ClientPlayNetworking#send}
+	 *     or {@link PacketSender#sendPacket(net.minecraft.util.Identifier, PacketByteBuf)} of a play stage sender,
+	 *     which releases it right away;</li>
+	 *     <li>calling {@link ByteBuf#release()} on it.</li>
+	 * </ul>
+	 * The buffer must not be used afterwards. Packets created from it with {@link PacketSender#createPacket} don't
+	 * release it.
+	 * <p>
+	 * Setting the {@code quilt.networking.debug_pooled_buffers} system property reports pooled buffers which are
+	 * never released, along with where they were created.
+	 *
+	 * @param sizeHint the expected size of the payload, in bytes
+	 * @return a new buffer
+	 */
+	public static PacketByteBuf createPooled(int sizeHint) {
+		return new PooledPacketByteBuf(PooledByteBufAllocator.DEFAULT.directBuffer(sizeHint));
+	}
+
 	// Convenience methods for byte buffer methods that return a new byte buffer
 
 	/**
@@ -82,4 +82,22 @@ public interface PacketSender {
 
 		this.sendPacket(this.createPacket(channel, buf), callback);
 	}
+
+	/**
+	 * Queues a packet to a channel, to be sent at the end of the tick in a single bundle along with the other packets
+	 * queued during the tick.
+	 * <p>
+	 * This is meant for mods sending many small packets per tick, which then share a single packet frame and compression
+	 * check. The other side handles each bundled packet as if it was sent on its own, in the order they were queued.
+	 * Bundled packets are sent after the packets sent directly during the same tick.
+	 * <p>
+	 * Packets are sent immediately instead if the other side cannot unbundle them, or if this sender doesn't support
+	 * bundling.
+	 *
+	 * @param channel the identifier of the channel
+	 * @param buf     the content of the packet
+	 */
+	default void sendPacketBundled(Identifier channel, PacketByteBuf buf) {
+		this.sendPacket(channel, buf);
+	}
 }
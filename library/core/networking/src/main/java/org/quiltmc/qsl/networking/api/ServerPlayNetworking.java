@@ -30,7 +30,9 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.PacketBroadcaster;
 import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.impl.server.ServerThreadQueue;
 
 /**
  * Offers access to play stage server-side networking functionalities.
@@ -60,6 +62,69 @@ public final class ServerPlayNetworking {
 		return ServerNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a handler to a channel, whose payloads are compressed with the given settings.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * The compression settings are advertised to the other side, which compresses the payloads it sends to the channel
+	 * if it supports it. Payloads are decompressed before being passed to the handler.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param compression the compression settings of the channel
+	 * @param channelHandler the handler
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, ChannelReceiver)
+	 */
+	public static boolean registerGlobalReceiver(Identifier channelName, ChannelCompression compression, ChannelReceiver channelHandler) {
+		Objects.requireNonNull(compression, "Channel compression cannot be null");
+
+		return ServerNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler, compression);
+	}
+
+	/**
+	 * Registers a handler to a channel, whose payloads are decoded on netty's event loops and applied on the server thread.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * The decoded payloads waiting for the server thread are applied all at once, in a single server task, instead of
+	 * each packet scheduling its own server task. They may therefore be applied before vanilla packets received in
+	 * between. Packets from players who disconnected since are dropped.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the payloads, called on netty's event loops
+	 * @param channelHandler the handler of the decoded payloads, called on the server thread
+	 * @param <T> the type of the decoded payloads
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ServerPlayNetworking#registerReceiver(ServerPlayNetworkHandler, Identifier, PayloadDecoder, DecodedChannelReceiver)
+	 */
+	public static <T> boolean registerGlobalReceiver(Identifier channelName, PayloadDecoder<T> decoder, DecodedChannelReceiver<T> channelHandler) {
+		Objects.requireNonNull(decoder, "Payload decoder cannot be null");
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return registerGlobalReceiver(channelName, ServerThreadQueue.decoding(decoder, channelHandler));
+	}
+
+	/**
+	 * Wraps a channel handler which is not safe to call off the server thread, so it can be passed to
+	 * {@link #registerGlobalReceiver(Identifier, ChannelReceiver)} or
+	 * {@link #registerReceiver(ServerPlayNetworkHandler, Identifier, ChannelReceiver)}.
+	 * <p>
+	 * The wrapped handler is called on the server thread with a copy of the payload, along with the other packets waiting
+	 * for the server thread in a single server task, like the handlers of
+	 * {@link #registerGlobalReceiver(Identifier, PayloadDecoder, DecodedChannelReceiver)}.
+	 *
+	 * @param channelHandler the handler
+	 * @return the handler to register
+	 */
+	public static ChannelReceiver onServerThread(ChannelReceiver channelHandler) {
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return ServerThreadQueue.onServerThread(channelHandler);
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * A global receiver is registered to all connections, in the present and future.
@@ -109,6 +174,28 @@ public final class ServerPlayNetworking {
 		return ServerNetworkingImpl.getAddon(networkHandler).registerChannel(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a handler to a channel, whose payloads are decoded on netty's event loops and applied on the server thread.
+	 * This method differs from {@link ServerPlayNetworking#registerGlobalReceiver(Identifier, PayloadDecoder, DecodedChannelReceiver)}
+	 * since the channel handler will only be applied to the player represented by the {@link ServerPlayNetworkHandler}.
+	 * <p>
+	 * If a handler is already registered to the {@code channelName}, this method will return {@code false}, and no change will be made.
+	 *
+	 * @param networkHandler the handler
+	 * @param channelName the identifier of the channel
+	 * @param decoder the decoder of the payloads, called on netty's event loops
+	 * @param channelHandler the handler of the decoded payloads, called on the server thread
+	 * @param <T> the type of the decoded payloads
+	 * @return {@code false} if a handler is already registered to the channel name, otherwise {@code true}
+	 */
+	public static <T> boolean registerReceiver(ServerPlayNetworkHandler networkHandler, Identifier channelName,
+			PayloadDecoder<T> decoder, DecodedChannelReceiver<T> channelHandler) {
+		Objects.requireNonNull(decoder, "Payload decoder cannot be null");
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return registerReceiver(networkHandler, channelName, ServerThreadQueue.decoding(decoder, channelHandler));
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * <p>
@@ -249,11 +336,31 @@ public final class ServerPlayNetworking {
 		Objects.requireNonNull(channelName, "Channel name cannot be null");
 		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
 
-		player.networkHandler.sendPacket(createS2CPacket(channelName, buf));
+		// The addon uses the compact channel name negotiated with the client and releases pooled payloads once sent
+		getSender(player).sendPacket(channelName, buf);
+	}
+
+	/**
+	 * Queues a packet to a player, to be sent at the end of the tick in a single bundle along with the other packets
+	 * queued for the player during the tick.
+	 *
+	 * @param player the player to send the packet to
+	 * @param channelName the channel of the packet
+	 * @param buf the payload of the packet
+	 * @see PacketSender#sendPacketBundled(Identifier, PacketByteBuf)
+	 */
+	public static void sendBundled(ServerPlayerEntity player, Identifier channelName, PacketByteBuf buf) {
+		Objects.requireNonNull(player, "Server player entity cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
+
+		getSender(player).sendPacketBundled(channelName, buf);
 	}
 
 	/**
 	 * Sends a packet to a collection of players.
+	 * <p>
+	 * The packet is only encoded and compressed once for all the players, instead of once per player.
 	 *
 	 * @param players the players to send the packet to
 	 * @param channelName the channel of the packet
@@ -261,8 +368,10 @@ public final class ServerPlayNetworking {
 	 */
 	public static void send(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
 		Objects.requireNonNull(players, "Players collection cannot be null");
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+		Objects.requireNonNull(buf, "Packet byte buf cannot be null");
 
-		players.forEach(player -> send(player, channelName, buf));
+		PacketBroadcaster.broadcast(players, channelName, buf);
 	}
 
 	// Helper methods
@@ -289,6 +398,9 @@ public final class ServerPlayNetworking {
 		 * <p>
 		 * This method is executed on {@linkplain io.netty.channel.EventLoop netty's event loops}.
 		 * Modification to the game should be {@linkplain net.minecraft.util.thread.ThreadExecutor#submit(Runnable) scheduled} using the provided Minecraft server instance.
+		 * Alternatively, receivers may be registered to be called on the server thread, see
+		 * {@link ServerPlayNetworking#onServerThread(ChannelReceiver)} and
+		 * {@link ServerPlayNetworking#registerGlobalReceiver(Identifier, PayloadDecoder, DecodedChannelReceiver)}.
 		 * <p>
 		 * An example usage of this is to create an explosion where the player is looking:
 		 * <pre>{@code
@@ -310,4 +422,33 @@ public final class ServerPlayNetworking {
 		 */
 		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender);
 	}
+
+	@FunctionalInterface
+	public interface PayloadDecoder<T> {
+		/**
+		 * Decodes the payload of an incoming packet.
+		 * <p>
+		 * This method is executed on {@linkplain io.netty.channel.EventLoop netty's event loops}, and must not modify the game.
+		 *
+		 * @param buf the payload of the packet
+		 * @return the decoded payload
+		 */
+		T decode(PacketByteBuf buf);
+	}
+
+	@FunctionalInterface
+	public interface DecodedChannelReceiver<T> {
+		/**
+		 * Receives the decoded payload of an incoming packet.
+		 * <p>
+		 * This method is executed on the server thread, so it may freely modify the game.
+		 *
+		 * @param server the server
+		 * @param player the player
+		 * @param handler the network handler that received this packet, representing the player/client who sent the packet
+		 * @param payload the decoded payload of the packet
+		 * @param responseSender the packet sender
+		 */
+		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, T payload, PacketSender responseSender);
+	}
 }
@@ -29,6 +29,7 @@ import net.minecraft.util.Identifier;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import org.quiltmc.qsl.networking.api.ChannelCompression;
 import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.client.ClientNetworkingImpl;
@@ -64,6 +65,27 @@ public final class ClientPlayNetworking {
 		return ClientNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a handler to a channel, whose payloads are compressed with the given settings.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * The compression settings are advertised to the other side, which compresses the payloads it sends to the channel
+	 * if it supports it. Payloads are decompressed before being passed to the handler.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param compression the compression settings of the channel
+	 * @param channelHandler the handler
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ClientPlayNetworking#registerGlobalReceiver(Identifier, ChannelReceiver)
+	 */
+	public static boolean registerGlobalReceiver(Identifier channelName, ChannelCompression compression, ChannelReceiver channelHandler) {
+		Objects.requireNonNull(compression, "Channel compression cannot be null");
+
+		return ClientNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler, compression);
+	}
+
 	/**
 	 * Removes the handler of a channel.
 	 * A global receiver is registered to all connections, in the present and future.
@@ -220,7 +242,8 @@ public final class ClientPlayNetworking {
 	public static void send(Identifier channelName, PacketByteBuf buf) throws IllegalStateException {
 		// You cant send without a client player, so this is fine
 		if (MinecraftClient.getInstance().getNetworkHandler() != null) {
-			MinecraftClient.getInstance().getNetworkHandler().sendPacket(createC2SPacket(channelName, buf));
+			// The addon uses the compact channel name negotiated with the server and releases pooled payloads once sent
+			getSender().sendPacket(channelName, buf);
 			return;
 		}
 
@@ -18,16 +18,23 @@ package org.quiltmc.qsl.networking.impl;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
 import io.netty.util.AsciiString;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
@@ -51,6 +58,19 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Set<Identifier> sendableChannels;
 	protected final Set<Identifier> sendableChannelsView;
+	// The compact identifiers we assigned to the channels we may receive, guarded by itself
+	private final Object2IntMap<Identifier> receiveIds = new Object2IntOpenHashMap<>();
+	// The channels we may receive indexed by their compact identifier, replaced as a whole when one is assigned
+	private volatile Identifier[] receiveIdChannels = new Identifier[0];
+	// The compact names the other side assigned to the channels it may receive, replaced as a whole when updated
+	private volatile Map<Identifier, Identifier> compactSendChannels = Map.of();
+	// The compression settings the other side declared for the channels it may receive, replaced as a whole like the
+	// compact names
+	private volatile Map<Identifier, PayloadCompression.Settings> sendCompression = Map.of();
+	// The payloads queued to be sent as a single bundle at the end of the tick, guarded by the lock
+	private final Object bundleLock = new Object();
+	@Nullable
+	private PacketByteBuf bundle;
 
 	protected AbstractChanneledNetworkAddon(GlobalReceiverRegistry<H> receiver, ClientConnection connection, String description) {
 		this(receiver, connection, new HashSet<>(), description);
@@ -77,6 +97,7 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 
 	// always supposed to handle async!
 	protected boolean handle(Identifier channelName, PacketByteBuf originalBuf) {
+		channelName = this.resolveCompactChannel(channelName);
 		this.logger.debug("Handling inbound packet from channel with name \"{}\"", channelName);
 
 		// Handle reserved packets
@@ -90,6 +111,37 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 			return true;
 		}
 
+		if (NetworkingImpl.CHANNEL_IDS_CHANNEL.equals(channelName)) {
+			this.receiveChannelIds(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		if (NetworkingImpl.BUNDLE_CHANNEL.equals(channelName)) {
+			this.receiveBundle(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		if (NetworkingImpl.COMPRESSION_CHANNEL.equals(channelName)) {
+			this.receiveCompressionSettings(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		if (NetworkingImpl.COMPRESSED_CHANNEL.equals(channelName)) {
+			this.receiveCompressed(PacketByteBufs.slice(originalBuf));
+			return true;
+		}
+
+		return this.handleRegistered(channelName, originalBuf);
+	}
+
+	/**
+	 * Handles an inbound packet from a channel which isn't reserved, if a handler is registered to it.
+	 *
+	 * @param channelName the name of the channel, compact names already resolved
+	 * @param originalBuf the payload
+	 * @return {@code true} if a handler is registered to the channel, or {@code false} otherwise
+	 */
+	private boolean handleRegistered(Identifier channelName, PacketByteBuf originalBuf) {
 		@Nullable H handler = this.getHandler(channelName);
 
 		if (handler == null) {
@@ -111,7 +163,12 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 	protected abstract void receive(H handler, PacketByteBuf buf);
 
 	protected void sendInitialChannelRegistrationPacket() {
-		final PacketByteBuf buf = this.createRegistrationPacket(this.getReceivableChannels());
+		// Also declare that we understand compact channel identifiers, bundles and compressed payloads
+		final Set<Identifier> channels = this.getReceivableChannels();
+		channels.add(NetworkingImpl.CHANNEL_IDS_CHANNEL);
+		channels.add(NetworkingImpl.BUNDLE_CHANNEL);
+		channels.add(NetworkingImpl.COMPRESSED_CHANNEL);
+		final PacketByteBuf buf = this.createRegistrationPacket(channels);
 
 		if (buf != null) {
 			this.sendPacket(NetworkingImpl.REGISTER_CHANNEL, buf);
@@ -162,11 +219,237 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 
 	void register(List<Identifier> ids) {
 		this.sendableChannels.addAll(ids);
+
+		if (ids.contains(NetworkingImpl.CHANNEL_IDS_CHANNEL)) {
+			this.sendChannelIds(this.getReceivableChannels());
+		}
+
+		if (ids.contains(NetworkingImpl.COMPRESSED_CHANNEL)) {
+			this.sendCompressionSettings(this.getReceivableChannels());
+		}
+
 		this.invokeRegisterEvent(ids);
 	}
 
+	/**
+	 * Assigns compact identifiers to the given channels we may receive, and sends them to the other side if it
+	 * declared the ability to receive them.
+	 *
+	 * @param channels the channels
+	 */
+	protected void sendChannelIds(Collection<Identifier> channels) {
+		if (channels.isEmpty() || !this.sendableChannels.contains(NetworkingImpl.CHANNEL_IDS_CHANNEL)) {
+			return;
+		}
+
+		// Sorted, so peers with the same channels get the same identifiers and broadcasts can share their encoding
+		List<Identifier> sorted = new ArrayList<>(channels);
+		Collections.sort(sorted);
+
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeVarInt(sorted.size());
+
+		synchronized (this.receiveIds) {
+			for (Identifier channel : sorted) {
+				int id = this.receiveIds.computeIfAbsent(channel, c -> this.receiveIds.size());
+
+				if (id >= this.receiveIdChannels.length) {
+					Identifier[] channelsById = Arrays.copyOf(this.receiveIdChannels, id + 1);
+					channelsById[id] = channel;
+					this.receiveIdChannels = channelsById;
+				}
+
+				buf.writeVarInt(id);
+				buf.writeIdentifier(channel);
+			}
+		}
+
+		this.sendPacket(NetworkingImpl.CHANNEL_IDS_CHANNEL, buf);
+	}
+
+	protected void receiveChannelIds(PacketByteBuf buf) {
+		int n = buf.readVarInt();
+
+		// Each entry takes at least 2 bytes, an identifier and an empty channel name, so the count can't be used to
+		// make us allocate more than what was actually sent
+		if (n < 0 || n > buf.readableBytes() / 2) {
+			throw new DecoderException("Invalid compact channel identifier count " + n);
+		}
+
+		Map<Identifier, Identifier> received = new Object2ObjectOpenHashMap<>(n);
+
+		for (int i = 0; i < n; i++) {
+			int id = buf.readVarInt();
+
+			if (id < 0) {
+				throw new DecoderException("Invalid compact channel identifier " + id);
+			}
+
+			received.put(buf.readIdentifier(), new Identifier(NetworkingImpl.COMPACT_CHANNEL_NAMESPACE, Integer.toString(id, 36)));
+		}
+
+		synchronized (this.receiveIds) {
+			Map<Identifier, Identifier> channels = new Object2ObjectOpenHashMap<>(this.compactSendChannels);
+			channels.putAll(received);
+			this.compactSendChannels = channels;
+		}
+	}
+
+	/**
+	 * {@return the name to put on the wire for a packet sent to the given channel}
+	 * This is the compact name assigned by the other side if it assigned one, or the name of the channel otherwise.
+	 *
+	 * @param channelName the name of the channel
+	 */
+	public Identifier getWireChannel(Identifier channelName) {
+		return this.compactSendChannels.getOrDefault(channelName, channelName);
+	}
+
+	/**
+	 * {@return the compression settings the other side declared for the given channel, or {@code null} if it didn't}
+	 *
+	 * @param channelName the name of the channel
+	 */
+	@Nullable
+	public PayloadCompression.Settings getSendCompression(Identifier channelName) {
+		return this.sendCompression.get(channelName);
+	}
+
+	private Identifier resolveCompactChannel(Identifier channelName) {
+		// Only peers which declared the ability to receive our compact identifiers may use them
+		if (!NetworkingImpl.COMPACT_CHANNEL_NAMESPACE.equals(channelName.getNamespace())
+				|| !this.sendableChannels.contains(NetworkingImpl.CHANNEL_IDS_CHANNEL)) {
+			return channelName;
+		}
+
+		// Parse the identifier by hand, invalid ones are left as is and handled as unknown channels
+		String path = channelName.getPath();
+		int id = 0;
+
+		for (int i = 0; i < path.length(); i++) {
+			int digit = Character.digit(path.charAt(i), 36);
+
+			if (digit < 0 || id > (Integer.MAX_VALUE - digit) / 36) {
+				return channelName;
+			}
+
+			id = id * 36 + digit;
+		}
+
+		Identifier[] channelsById = this.receiveIdChannels;
+		return !path.isEmpty() && id < channelsById.length && channelsById[id] != null ? channelsById[id] : channelName;
+	}
+
+	/**
+	 * Unbundles the payloads of a bundle, and handles each of them as if it was received in its own packet.
+	 * <p>
+	 * Only payloads of registered channels may be bundled: reserved channels, such as registrations or other bundles,
+	 * are rejected.
+	 *
+	 * @param buf the bundle
+	 */
+	protected void receiveBundle(PacketByteBuf buf) {
+		while (buf.isReadable()) {
+			Identifier channelName = this.resolveCompactChannel(buf.readIdentifier());
+			PacketByteBuf payload = new PacketByteBuf(buf.readSlice(buf.readVarInt()));
+
+			// Compact names which couldn't be resolved are left to be logged as unknown channels
+			if (this.isReservedChannel(channelName) && !NetworkingImpl.COMPACT_CHANNEL_NAMESPACE.equals(channelName.getNamespace())) {
+				throw new DecoderException("Received bundled packet from reserved channel with name \"" + channelName + "\"");
+			}
+
+			if (!this.handleRegistered(channelName, payload)) {
+				this.logger.debug("Received bundled packet from unknown channel with name \"{}\"", channelName);
+			}
+		}
+	}
+
+	/**
+	 * Sends the compression settings of the given channels we may receive to the other side, if it declared the ability
+	 * to compress payloads. Channels without compression settings are skipped.
+	 *
+	 * @param channels the channels
+	 */
+	protected void sendCompressionSettings(Collection<Identifier> channels) {
+		if (!this.sendableChannels.contains(NetworkingImpl.COMPRESSED_CHANNEL)) {
+			return;
+		}
+
+		for (Identifier channel : channels) {
+			PayloadCompression.Settings settings = this.receiver.getCompression(channel);
+
+			if (settings != null) {
+				// One packet per channel, so even large dictionaries fit in a packet
+				PacketByteBuf buf = PacketByteBufs.create();
+				buf.writeIdentifier(channel);
+				settings.write(buf);
+				this.sendPacket(NetworkingImpl.COMPRESSION_CHANNEL, buf);
+			}
+		}
+	}
+
+	/**
+	 * Reads the compression settings of a channel we may send packets to.
+	 * <p>
+	 * The settings are applied after the registrations received before them, and are ignored if the other side
+	 * did not register the channel, so the other side cannot make us store settings for arbitrary channels.
+	 *
+	 * @param buf the compression settings
+	 */
+	protected void receiveCompressionSettings(PacketByteBuf buf) {
+		Identifier channel = buf.readIdentifier();
+		PayloadCompression.Settings settings = PayloadCompression.Settings.read(buf);
+
+		this.schedule(() -> {
+			if (!this.sendableChannels.contains(channel)) {
+				this.logger.debug("Ignoring compression settings of unregistered channel with name \"{}\"", channel);
+				return;
+			}
+
+			synchronized (this.receiveIds) {
+				Map<Identifier, PayloadCompression.Settings> compression = new Object2ObjectOpenHashMap<>(this.sendCompression);
+				compression.put(channel, settings);
+				this.sendCompression = compression;
+			}
+		});
+	}
+
+	/**
+	 * Decompresses a compressed payload, and handles it as if it was received uncompressed.
+	 *
+	 * @param buf the compressed payload
+	 */
+	protected void receiveCompressed(PacketByteBuf buf) {
+		Identifier channelName = this.resolveCompactChannel(buf.readIdentifier());
+		PayloadCompression.Settings settings = this.receiver.getCompression(channelName);
+
+		if (settings == null) {
+			// The channel was unregistered since
+			this.logger.debug("Received compressed packet from channel with name \"{}\" which isn't compressed", channelName);
+			return;
+		}
+
+		if (!this.handle(channelName, PayloadCompression.decompress(buf, settings))) {
+			this.logger.debug("Received compressed packet from unknown channel with name \"{}\"", channelName);
+		}
+	}
+
+	/**
+	 * {@return the maximum size of the payloads of the packets sent to the other side}
+	 */
+	protected abstract int getMaxPayloadSize();
+
 	void unregister(List<Identifier> ids) {
 		this.sendableChannels.removeAll(ids);
+
+		synchronized (this.receiveIds) {
+			Map<Identifier, PayloadCompression.Settings> compression = new Object2ObjectOpenHashMap<>(this.sendCompression);
+
+			if (compression.keySet().removeAll(ids)) {
+				this.sendCompression = compression;
+			}
+		}
+
 		this.invokeUnregisterEvent(ids);
 	}
 
@@ -184,6 +467,105 @@ public abstract class AbstractChanneledNetworkAddon<H> extends AbstractNetworkAd
 		this.connection.send(packet, callback);
 	}
 
+	@Override
+	public void sendPacket(Identifier channel, PacketByteBuf buf) {
+		this.sendPacket(channel, buf, null);
+	}
+
+	@Override
+	public void sendPacket(Identifier channel, PacketByteBuf buf, @Nullable GenericFutureListener<? extends Future<? super Void>> callback) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		PayloadCompression.Settings compression = this.getSendCompression(channel);
+
+		if (compression != null && buf.readableBytes() >= compression.threshold()) {
+			PacketByteBuf compressed = PayloadCompression.compress(this.getWireChannel(channel), buf, compression);
+
+			if (buf instanceof PooledPacketByteBuf) {
+				// Owned by us, and no longer needed once compressed
+				buf.release();
+			}
+
+			channel = NetworkingImpl.COMPRESSED_CHANNEL;
+			buf = compressed;
+		}
+
+		// Pooled payloads are owned by us from now on, and released before the packet is even created
+		buf = PooledPacketByteBuf.prepareSend(buf);
+		this.sendPacket(this.createPacket(this.getWireChannel(channel), buf), callback);
+	}
+
+	@Override
+	public void sendPacketBundled(Identifier channel, PacketByteBuf buf) {
+		Objects.requireNonNull(channel, "Channel cannot be null");
+		Objects.requireNonNull(buf, "Payload cannot be null");
+
+		if (!this.sendableChannels.contains(NetworkingImpl.BUNDLE_CHANNEL) || !this.connection.isOpen()
+				|| this.isReservedChannel(channel)) {
+			// The other side can't unbundle, the bundle would never be sent nor discarded, or the other side would reject it
+			this.sendPacket(channel, buf);
+			return;
+		}
+
+		Identifier wireChannel = this.getWireChannel(channel);
+		int channelLength = ByteBufUtil.utf8Bytes(wireChannel.toString());
+		int payloadLength = buf.readableBytes();
+		int entryLength = PacketByteBuf.getVarIntLength(channelLength) + channelLength + PacketByteBuf.getVarIntLength(payloadLength) + payloadLength;
+
+		synchronized (this.bundleLock) {
+			if (entryLength > this.getMaxPayloadSize()) {
+				// Too large to be bundled, still send it after the payloads queued before it
+				this.flushBundle();
+				this.sendPacket(channel, buf);
+				return;
+			}
+
+			if (this.bundle != null && this.bundle.readableBytes() + entryLength > this.getMaxPayloadSize()) {
+				this.flushBundle();
+			}
+
+			if (this.bundle == null) {
+				this.bundle = PacketByteBufs.createPooled();
+			}
+
+			this.bundle.writeIdentifier(wireChannel);
+			this.bundle.writeVarInt(payloadLength);
+			this.bundle.writeBytes(buf, buf.readerIndex(), payloadLength);
+		}
+
+		if (buf instanceof PooledPacketByteBuf) {
+			// Owned by us like in sendPacket, and no longer needed once copied into the bundle
+			buf.release();
+		}
+	}
+
+	/**
+	 * Sends the payloads queued with {@link #sendPacketBundled(Identifier, PacketByteBuf)} as a single bundle.
+	 * This is called at the end of each tick.
+	 */
+	public void flushBundle() {
+		synchronized (this.bundleLock) {
+			if (this.bundle != null) {
+				// Sent while holding the lock so bundles are sent in order
+				this.sendPacket(NetworkingImpl.BUNDLE_CHANNEL, this.bundle);
+				this.bundle = null;
+			}
+		}
+	}
+
+	/**
+	 * Discards the payloads queued with {@link #sendPacketBundled(Identifier, PacketByteBuf)}, as the connection is closed.
+	 */
+	protected void discardBundle() {
+		synchronized (this.bundleLock) {
+			if (this.bundle != null) {
+				this.bundle.release();
+				this.bundle = null;
+			}
+		}
+	}
+
 	/**
 	 * Schedules a task to run on the main thread.
 	 */
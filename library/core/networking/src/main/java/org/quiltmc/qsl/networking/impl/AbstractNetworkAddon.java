@@ -21,10 +21,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -42,11 +40,12 @@ import net.minecraft.util.Identifier;
 public abstract class AbstractNetworkAddon<H> {
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Logger logger;
-	// A lock is used due to possible access on netty's event loops and game thread at same times such as during dynamic registration
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	// Sync map should be fine as there is little read write competition
-	// All access to this map is guarded by the lock
-	private final Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>();
+	// Serializes the modifications of the handlers, which may happen on netty's event loops and game thread at same times
+	// such as during dynamic registration
+	private final Object lock = new Object();
+	// Lookups happen for every packet on netty's event loops while registration is rare, so the map is never modified
+	// and instead replaced as a whole while holding the lock
+	private volatile Map<Identifier, H> handlers = Object2ObjectMaps.emptyMap();
 	private final AtomicBoolean disconnected = new AtomicBoolean(); // blocks redundant disconnect notifications
 
 	protected AbstractNetworkAddon(GlobalReceiverRegistry<H> receiver, String description) {
@@ -56,14 +55,7 @@ public abstract class AbstractNetworkAddon<H> {
 
 	@Nullable
 	public H getHandler(Identifier channel) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return this.handlers.get(channel);
-		} finally {
-			lock.unlock();
-		}
+		return this.handlers.get(channel);
 	}
 
 	public boolean registerChannel(Identifier channelName, H handler) {
@@ -74,19 +66,16 @@ public abstract class AbstractNetworkAddon<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			final boolean replaced = this.handlers.putIfAbsent(channelName, handler) == null;
-
-			if (replaced) {
-				this.handleRegistration(channelName);
+		synchronized (this.lock) {
+			if (this.handlers.containsKey(channelName)) {
+				return false;
 			}
 
-			return replaced;
-		} finally {
-			lock.unlock();
+			Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>(this.handlers);
+			handlers.put(channelName, handler);
+			this.handlers = handlers;
+			this.handleRegistration(channelName);
+			return true;
 		}
 	}
 
@@ -97,31 +86,21 @@ public abstract class AbstractNetworkAddon<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			final H removed = this.handlers.remove(channelName);
-
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+		synchronized (this.lock) {
+			if (!this.handlers.containsKey(channelName)) {
+				return null;
 			}
 
+			Map<Identifier, H> handlers = new Object2ObjectOpenHashMap<>(this.handlers);
+			final H removed = handlers.remove(channelName);
+			this.handlers = handlers;
+			this.handleUnregistration(channelName);
 			return removed;
-		} finally {
-			lock.unlock();
 		}
 	}
 
 	public Set<Identifier> getReceivableChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return new HashSet<>(this.handlers.keySet());
-		} finally {
-			lock.unlock();
-		}
+		return new HashSet<>(this.handlers.keySet());
 	}
 
 	protected abstract void handleRegistration(Identifier channelName);
@@ -20,9 +20,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
@@ -30,33 +27,42 @@ import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.ChannelCompression;
+
 @ApiStatus.Internal
 public final class GlobalReceiverRegistry<H> {
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	private final Map<Identifier, H> receivers;
+	// Serializes the modifications of the receivers and every access to the tracked addons
+	private final Object lock = new Object();
+	// Lookups happen on netty's event loops while registration is rare, so the map is never modified and instead
+	// replaced as a whole while holding the lock
+	private volatile Map<Identifier, H> receivers;
+	// The compression settings of the receivers registered with some, replaced along with the receivers
+	private volatile Map<Identifier, PayloadCompression.Settings> compression = new Object2ObjectOpenHashMap<>();
 	private final Set<AbstractNetworkAddon<H>> trackedAddons = new HashSet<>();
 
 	public GlobalReceiverRegistry() {
-		this(new Object2ObjectOpenHashMap<>()); // sync map should be fine as there is little read write competitions
+		this(new Object2ObjectOpenHashMap<>());
 	}
 
 	public GlobalReceiverRegistry(Map<Identifier, H> map) {
-		this.receivers = map;
+		this.receivers = new Object2ObjectOpenHashMap<>(map);
 	}
 
 	@Nullable
 	public H getReceiver(Identifier channelName) {
-		Lock lock = this.lock.readLock();
-		lock.lock();
+		return this.receivers.get(channelName);
+	}
 
-		try {
-			return this.receivers.get(channelName);
-		} finally {
-			lock.unlock();
-		}
+	@Nullable
+	public PayloadCompression.Settings getCompression(Identifier channelName) {
+		return this.compression.get(channelName);
 	}
 
 	public boolean registerGlobalReceiver(Identifier channelName, H handler) {
+		return this.registerGlobalReceiver(channelName, handler, null);
+	}
+
+	public boolean registerGlobalReceiver(Identifier channelName, H handler, @Nullable ChannelCompression compression) {
 		Objects.requireNonNull(channelName, "Channel name cannot be null");
 		Objects.requireNonNull(handler, "Channel handler cannot be null");
 
@@ -64,19 +70,26 @@ public final class GlobalReceiverRegistry<H> {
 			throw new IllegalArgumentException(String.format("Cannot register handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		synchronized (this.lock) {
+			final boolean replaced = !this.receivers.containsKey(channelName);
+
+			if (replaced) {
+				if (compression != null) {
+					// Published first, so the compression of a receiver is known as soon as the receiver is
+					Map<Identifier, PayloadCompression.Settings> settings = new Object2ObjectOpenHashMap<>(this.compression);
+					settings.put(channelName, PayloadCompression.Settings.of(compression));
+					this.compression = settings;
+				}
 
-		try {
-			final boolean replaced = this.receivers.putIfAbsent(channelName, handler) == null;
+				Map<Identifier, H> receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+				receivers.put(channelName, handler);
+				this.receivers = receivers;
 
-			if (!replaced) {
+				// Propagated to the live connections, which advertise the channel and its compression
 				this.handleRegistration(channelName, handler);
 			}
 
 			return replaced;
-		} finally {
-			lock.unlock();
 		}
 	}
 
@@ -87,91 +100,59 @@ public final class GlobalReceiverRegistry<H> {
 			throw new IllegalArgumentException(String.format("Cannot unregister packet handler for reserved channel with name \"%s\"", channelName));
 		}
 
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		synchronized (this.lock) {
+			if (!this.receivers.containsKey(channelName)) {
+				return null;
+			}
 
-		try {
-			final H removed = this.receivers.remove(channelName);
+			Map<Identifier, H> receivers = new Object2ObjectOpenHashMap<>(this.receivers);
+			final H removed = receivers.remove(channelName);
+			this.receivers = receivers;
 
-			if (removed != null) {
-				this.handleUnregistration(channelName);
+			if (this.compression.containsKey(channelName)) {
+				Map<Identifier, PayloadCompression.Settings> settings = new Object2ObjectOpenHashMap<>(this.compression);
+				settings.remove(channelName);
+				this.compression = settings;
 			}
 
+			this.handleUnregistration(channelName);
 			return removed;
-		} finally {
-			lock.unlock();
 		}
 	}
 
 	public Map<Identifier, H> getReceivers() {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			return new Object2ObjectOpenHashMap<>(this.receivers);
-		} finally {
-			lock.unlock();
-		}
+		return new Object2ObjectOpenHashMap<>(this.receivers);
 	}
 
 	public Set<Identifier> getChannels() {
-		Lock lock = this.lock.readLock();
-		lock.lock();
-
-		try {
-			return new HashSet<>(this.receivers.keySet());
-		} finally {
-			lock.unlock();
-		}
+		return new HashSet<>(this.receivers.keySet());
 	}
 
 	// State tracking methods
 
 	public void startSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
+		synchronized (this.lock) {
 			this.trackedAddons.add(addon);
-		} finally {
-			lock.unlock();
 		}
 	}
 
 	public void endSession(AbstractNetworkAddon<H> addon) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
+		synchronized (this.lock) {
 			this.trackedAddons.remove(addon);
-		} finally {
-			lock.unlock();
 		}
 	}
 
+	// Called while holding the lock
 	private void handleRegistration(Identifier channelName, H handler) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.registerChannel(channelName, handler);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.registerChannel(channelName, handler);
 		}
 	}
 
+	// Called while holding the lock
 	private void handleUnregistration(Identifier channelName) {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
-
-		try {
-			for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
-				addon.unregisterChannel(channelName);
-			}
-		} finally {
-			lock.unlock();
+		for (AbstractNetworkAddon<H> addon : this.trackedAddons) {
+			addon.unregisterChannel(channelName);
 		}
 	}
 }
@@ -28,13 +28,18 @@ import org.slf4j.LoggerFactory;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerLoginNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.lifecycle.api.event.ServerLifecycleEvents;
+import org.quiltmc.qsl.lifecycle.api.event.ServerTickEvents;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.ServerLoginConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.impl.server.ServerThreadQueue;
 
 @ApiStatus.Internal
 public final class NetworkingImpl {
@@ -60,6 +65,30 @@ public final class NetworkingImpl {
 	 * <p>Since our early registration packet does not differ from fabric's, we can support both.
 	 */
 	public static final Identifier EARLY_REGISTRATION_CHANNEL_FABRIC = new Identifier("fabric-networking-api-v1", "early_registration");
+	/**
+	 * Identifier of the packet used to declare the compact identifiers of the channels the sender may receive.
+	 * It is only sent to peers which declared the ability to receive it, other peers keep receiving full channel names.
+	 */
+	public static final Identifier CHANNEL_IDS_CHANNEL = new Identifier(MOD_ID, "channel_ids");
+	/**
+	 * Namespace of the compact channel names, whose path is the compact identifier of the channel in base 36.
+	 */
+	public static final String COMPACT_CHANNEL_NAMESPACE = "q";
+	/**
+	 * Identifier of the packet used to send many payloads at once, each prefixed by its channel name and its length.
+	 * It is only sent to peers which declared the ability to receive it.
+	 */
+	public static final Identifier BUNDLE_CHANNEL = new Identifier(MOD_ID, "bundle");
+	/**
+	 * Identifier of the packet used to declare the compression settings of a channel the sender may receive.
+	 * It is only sent to peers which declared the ability to receive compressed payloads.
+	 */
+	public static final Identifier COMPRESSION_CHANNEL = new Identifier(MOD_ID, "compression");
+	/**
+	 * Identifier of the packet used to send a payload compressed with the settings of its channel, prefixed by the name
+	 * of its channel and its uncompressed length.
+	 */
+	public static final Identifier COMPRESSED_CHANNEL = new Identifier(MOD_ID, "compressed");
 
 	public static void init(ModContainer mod) {
 		// Login setup
@@ -80,10 +109,22 @@ public final class NetworkingImpl {
 
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL, NetworkingImpl::receiveEarlyRegistration);
 		ServerLoginNetworking.registerGlobalReceiver(EARLY_REGISTRATION_CHANNEL_FABRIC, NetworkingImpl::receiveEarlyRegistration);
+
+		// Drop the received packets still waiting for the server thread
+		ServerLifecycleEvents.STOPPED.register(server -> ServerThreadQueue.clear());
+
+		// Send the payloads bundled during the tick
+		ServerTickEvents.END.register(server -> {
+			for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+				ServerNetworkingImpl.getAddon(player.networkHandler).flushBundle();
+			}
+		});
 	}
 
 	public static boolean isReservedPlayChannel(Identifier channelName) {
-		return channelName.equals(REGISTER_CHANNEL) || channelName.equals(UNREGISTER_CHANNEL);
+		// The whole namespace of compact channel names is reserved, so they never shadow a registered channel
+		return channelName.getNamespace().equals(COMPACT_CHANNEL_NAMESPACE) || channelName.equals(REGISTER_CHANNEL) || channelName.equals(UNREGISTER_CHANNEL) || channelName.equals(CHANNEL_IDS_CHANNEL)
+				|| channelName.equals(BUNDLE_CHANNEL) || channelName.equals(COMPRESSION_CHANNEL) || channelName.equals(COMPRESSED_CHANNEL);
 	}
 
 	private static void receiveEarlyRegistration(MinecraftServer server, ServerLoginNetworkHandler handler, boolean understood, PacketByteBuf buf, ServerLoginNetworking.LoginSynchronizer synchronizer, PacketSender sender) {
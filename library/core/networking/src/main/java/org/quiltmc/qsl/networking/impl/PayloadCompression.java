@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.ChannelCompression;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+
+/**
+ * Compresses and decompresses the payloads of channels with their own compression settings.
+ * <p>
+ * Compressed payloads are sent to {@link NetworkingImpl#COMPRESSED_CHANNEL}, prefixed by the name of their channel and
+ * their uncompressed length.
+ */
+@ApiStatus.Internal
+public final class PayloadCompression {
+	// Mirrors the limit of PacketInflater
+	private static final int MAX_UNCOMPRESSED_SIZE = 8388608;
+	private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+	/**
+	 * The compression settings of a channel, as advertised to the other side.
+	 *
+	 * @param level      the compression level
+	 * @param threshold  the minimum size of the payloads to compress
+	 * @param dictionary the preset dictionary, or {@code null} if there is none
+	 */
+	public record Settings(int level, int threshold, byte @Nullable [] dictionary) {
+		public static Settings of(ChannelCompression compression) {
+			return new Settings(compression.getLevel(), compression.getThreshold(),
+					compression.hasDictionary() ? compression.getDictionary() : null);
+		}
+
+		/**
+		 * Reads the compression settings sent by the other side.
+		 *
+		 * @param buf the buffer to read from
+		 * @return the compression settings
+		 * @throws DecoderException if the settings are invalid
+		 */
+		public static Settings read(PacketByteBuf buf) {
+			int level = buf.readByte();
+			int threshold = buf.readVarInt();
+
+			if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+				throw new DecoderException("Invalid compression level " + level);
+			}
+
+			if (threshold < 0) {
+				throw new DecoderException("Invalid compression threshold " + threshold);
+			}
+
+			byte[] dictionary = buf.readByteArray(ChannelCompression.MAX_DICTIONARY_SIZE);
+			return new Settings(level, threshold, dictionary.length == 0 ? null : dictionary);
+		}
+
+		public void write(PacketByteBuf buf) {
+			buf.writeByte(this.level);
+			buf.writeVarInt(this.threshold);
+			buf.writeByteArray(this.dictionary == null ? new byte[0] : this.dictionary);
+		}
+
+		// Compares the contents of the dictionaries, so identical settings from different peers are equal
+		@Override
+		public boolean equals(Object o) {
+			return this == o || o instanceof Settings settings && this.level == settings.level
+					&& this.threshold == settings.threshold && Arrays.equals(this.dictionary, settings.dictionary);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.level + this.threshold) + Arrays.hashCode(this.dictionary);
+		}
+	}
+
+	/**
+	 * Compresses a payload, without moving its reader index.
+	 *
+	 * @param wireChannel the name of the channel of the payload, as sent on the wire
+	 * @param payload     the payload
+	 * @param settings    the compression settings of the channel
+	 * @return the pooled payload to send to {@link NetworkingImpl#COMPRESSED_CHANNEL}
+	 */
+	public static PacketByteBuf compress(Identifier wireChannel, PacketByteBuf payload, Settings settings) {
+		int length = payload.readableBytes();
+		byte[] input = new byte[length];
+		payload.getBytes(payload.readerIndex(), input);
+
+		PacketByteBuf buf = PacketByteBufs.createPooled(length / 2);
+		buf.writeIdentifier(wireChannel);
+		buf.writeVarInt(length);
+
+		Deflater deflater = DEFLATER.get();
+		deflater.setLevel(settings.level());
+
+		if (settings.dictionary() != null) {
+			deflater.setDictionary(settings.dictionary());
+		}
+
+		deflater.setInput(input);
+		deflater.finish();
+
+		byte[] output = new byte[Math.min(length, 8192) + 64];
+
+		while (!deflater.finished()) {
+			int written = deflater.deflate(output);
+			buf.writeBytes(output, 0, written);
+		}
+
+		deflater.reset();
+		return buf;
+	}
+
+	/**
+	 * Decompresses a payload received from {@link NetworkingImpl#COMPRESSED_CHANNEL}, whose channel name was already read.
+	 *
+	 * @param buf      the compressed payload
+	 * @param settings the compression settings of the channel
+	 * @return the decompressed payload
+	 */
+	public static PacketByteBuf decompress(PacketByteBuf buf, Settings settings) {
+		int length = buf.readVarInt();
+
+		if (length < 0 || length > MAX_UNCOMPRESSED_SIZE) {
+			throw new DecoderException("Badly compressed payload - size of " + length + " is larger than protocol maximum of " + MAX_UNCOMPRESSED_SIZE);
+		}
+
+		byte[] input = new byte[buf.readableBytes()];
+		buf.readBytes(input);
+
+		Inflater inflater = INFLATER.get();
+		inflater.setInput(input);
+
+		byte[] output = new byte[length];
+
+		try {
+			int read = 0;
+
+			while (read < length) {
+				int inflated = inflater.inflate(output, read, length - read);
+
+				if (inflated == 0) {
+					if (!inflater.needsDictionary() || settings.dictionary() == null) {
+						break;
+					}
+
+					inflater.setDictionary(settings.dictionary());
+				}
+
+				read += inflated;
+			}
+
+			if (read != length) {
+				throw new DecoderException("Badly compressed payload - expected " + length + " bytes but got " + read);
+			}
+		} catch (DataFormatException e) {
+			throw new DecoderException("Badly compressed payload", e);
+		} finally {
+			inflater.reset();
+		}
+
+		return new PacketByteBuf(Unpooled.wrappedBuffer(output));
+	}
+
+	private PayloadCompression() {
+	}
+}
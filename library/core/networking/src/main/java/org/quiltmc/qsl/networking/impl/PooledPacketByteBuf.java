@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import java.lang.ref.Cleaner;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * A packet byte buffer backed by a pooled buffer, which the networking API releases once it has taken its payload.
+ * <p>
+ * When the {@code quilt.networking.debug_pooled_buffers} system property is set, each buffer remembers where it was
+ * created, and buffers which are garbage collected without being released are reported and returned to the pool.
+ */
+@ApiStatus.Internal
+public final class PooledPacketByteBuf extends PacketByteBuf {
+	public static final boolean DEBUG = Boolean.getBoolean("quilt.networking.debug_pooled_buffers");
+	@Nullable
+	private static final Cleaner LEAK_CHECKER = DEBUG ? Cleaner.create() : null;
+
+	public PooledPacketByteBuf(ByteBuf parent) {
+		super(parent);
+
+		if (LEAK_CHECKER != null) {
+			// The check must not reference this buffer, or it would never be collected
+			LEAK_CHECKER.register(this, new LeakCheck(parent, new Throwable("Pooled packet byte buf created here")));
+		}
+	}
+
+	/**
+	 * Prepares a payload to be sent in a single packet.
+	 * <p>
+	 * Pooled payloads are copied to the heap and released right away: the packets keep a reference to their payload,
+	 * which is copied again when they are encoded and never released, and the packets queued on a connection which
+	 * isn't open yet are dropped without notice when it closes.
+	 *
+	 * @param buf the payload
+	 * @return the payload to send
+	 */
+	public static PacketByteBuf prepareSend(PacketByteBuf buf) {
+		if (buf instanceof PooledPacketByteBuf pooled) {
+			return pooled.copyAndRelease();
+		}
+
+		return buf;
+	}
+
+	/**
+	 * {@return a heap copy of the readable bytes of this buffer} This buffer is released.
+	 */
+	public PacketByteBuf copyAndRelease() {
+		PacketByteBuf copy = new PacketByteBuf(Unpooled.copiedBuffer(this));
+		this.release();
+		return copy;
+	}
+
+	private record LeakCheck(ByteBuf parent, Throwable creation) implements Runnable {
+		@Override
+		public void run() {
+			int refCnt = this.parent.refCnt();
+
+			if (refCnt > 0) {
+				NetworkingImpl.LOGGER.error("A pooled packet byte buf was garbage collected without being sent nor released.", this.creation);
+				this.parent.release(refCnt);
+			}
+		}
+	}
+}
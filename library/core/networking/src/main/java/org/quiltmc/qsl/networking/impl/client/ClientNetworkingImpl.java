@@ -36,6 +36,7 @@ import net.minecraft.util.Identifier;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.qsl.lifecycle.api.client.event.ClientTickEvents;
 import org.quiltmc.qsl.networking.api.client.ClientLoginNetworking;
 import org.quiltmc.qsl.networking.api.client.ClientPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
@@ -116,6 +117,15 @@ public final class ClientNetworkingImpl {
 			currentPlayAddon = null;
 		});
 
+		// Send the payloads bundled during the tick
+		ClientTickEvents.END.register(client -> {
+			ClientPlayNetworkAddon addon = getClientPlayAddon();
+
+			if (addon != null) {
+				addon.flushBundle();
+			}
+		});
+
 		// Register a login query handler for early channel registration.
 		ClientLoginNetworking.registerGlobalReceiver(NetworkingImpl.EARLY_REGISTRATION_CHANNEL, (client, handler, buf, listenerAdder) -> {
 			int n = buf.readVarInt();
@@ -131,6 +131,9 @@ public final class ClientPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 			if (buf != null) {
 				this.sendPacket(NetworkingImpl.REGISTER_CHANNEL, buf);
 			}
+
+			this.sendChannelIds(Collections.singleton(channelName));
+			this.sendCompressionSettings(Collections.singleton(channelName));
 		}
 	}
 
@@ -146,8 +149,15 @@ public final class ClientPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 		}
 	}
 
+	@Override
+	protected int getMaxPayloadSize() {
+		// The limit enforced when reading a CustomPayloadC2SPacket on the other side
+		return 32767;
+	}
+
 	@Override
 	protected void invokeDisconnectEvent() {
+		this.discardBundle();
 		ClientPlayConnectionEvents.DISCONNECT.invoker().onPlayDisconnect(this.handler, this.client);
 		this.receiver.endSession(this);
 	}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.NetworkSide;
+import net.minecraft.network.NetworkState;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.PacketCompressor;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.PayloadCompression;
+import org.quiltmc.qsl.networking.impl.PooledPacketByteBuf;
+import org.quiltmc.qsl.networking.mixin.accessor.ClientConnectionAccessor;
+
+/**
+ * Sends the same custom payload to many players, encoding and compressing it only once.
+ * <p>
+ * The payload is encoded into a complete frame, as it would be after the {@code prepender} handler of the pipeline,
+ * which is then written as a retained duplicate right before that handler of each connection. The handlers which
+ * differ between connections, such as encryption, still run for each connection.
+ * <p>
+ * Connections whose pipeline doesn't look like a vanilla remote connection, such as the local connection of an
+ * integrated server, or which have other handlers between the {@code prepender} and {@code packet_handler} handlers,
+ * get a regular packet instead, so those handlers still see it.
+ * <p>
+ * Each client may have negotiated its own compact name and compression for the channel, so frames are shared between
+ * the connections using the same channel name and compression on the wire, which is the case of every client with the
+ * same set of channels.
+ */
+@ApiStatus.Internal
+public final class PacketBroadcaster {
+	private static final String PREPENDER = "prepender";
+	private static final String ENCODER = "encoder";
+	private static final String COMPRESSOR = "compress";
+	private static final String PACKET_HANDLER = "packet_handler";
+	private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+	public static void broadcast(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
+		// Pooled payloads are owned by us, and released once encoded for every player
+		boolean pooled = buf instanceof PooledPacketByteBuf;
+		// Encoded lazily for each channel name on the wire and channel compression, once for connections without
+		// compression and once for connections with it
+		Map<FrameKey, ByteBuf> uncompressedFrames = new Object2ObjectArrayMap<>();
+		Map<FrameKey, ByteBuf> compressedFrames = new Object2ObjectArrayMap<>();
+
+		try {
+			for (ServerPlayerEntity player : players) {
+				ServerPlayNetworkAddon addon = ServerNetworkingImpl.getAddon(player.networkHandler);
+				ChannelPipeline pipeline = getEncodedPipeline(player);
+				ChannelHandlerContext context = pipeline != null ? pipeline.context(PREPENDER) : null;
+
+				if (context == null) {
+					// Regular packets keep a reference to their payload, so they get a heap copy of pooled ones
+					PacketByteBuf payload = pooled ? new PacketByteBuf(Unpooled.copiedBuffer(buf)) : buf;
+					addon.sendPacket(channelName, payload);
+					continue;
+				}
+
+				PayloadCompression.Settings compression = addon.getSendCompression(channelName);
+
+				if (compression != null && buf.readableBytes() < compression.threshold()) {
+					compression = null;
+				}
+
+				FrameKey key = new FrameKey(addon.getWireChannel(channelName), compression);
+				ByteBuf frame;
+
+				if (pipeline.get(COMPRESSOR) instanceof PacketCompressor) {
+					int threshold = player.server.getNetworkCompressionThreshold();
+					frame = compressedFrames.computeIfAbsent(key, k -> encode(key, buf, context.alloc(), threshold));
+				} else {
+					frame = uncompressedFrames.computeIfAbsent(key, k -> encode(key, buf, context.alloc(), -1));
+				}
+
+				// The connection releases its duplicate once written, or if the write fails because it was closed
+				context.writeAndFlush(frame.retainedDuplicate());
+			}
+		} finally {
+			uncompressedFrames.values().forEach(ByteBuf::release);
+			compressedFrames.values().forEach(ByteBuf::release);
+
+			if (pooled) {
+				buf.release();
+			}
+		}
+	}
+
+	/**
+	 * {@return the pipeline of the connection of the given player, or {@code null} if the frame cannot be written to it}
+	 * <p>
+	 * Only the vanilla handlers, the encoder and optionally the compressor, may stand between the {@code prepender} and
+	 * {@code packet_handler} handlers, as any other handler there would be skipped by writing the frame directly.
+	 */
+	@Nullable
+	private static ChannelPipeline getEncodedPipeline(ServerPlayerEntity player) {
+		Channel channel = ((ClientConnectionAccessor) player.networkHandler.getConnection()).getChannel();
+
+		if (channel == null || !channel.isOpen()) {
+			return null;
+		}
+
+		ChannelPipeline pipeline = channel.pipeline();
+
+		if (!(pipeline.get(ENCODER) instanceof PacketEncoder)) {
+			return null;
+		}
+
+		List<String> names = pipeline.names();
+		int prepender = names.indexOf(PREPENDER);
+		int packetHandler = names.indexOf(PACKET_HANDLER);
+
+		if (prepender < 0 || packetHandler < prepender) {
+			return null;
+		}
+
+		List<String> between = names.subList(prepender + 1, packetHandler);
+
+		if (pipeline.get(COMPRESSOR) instanceof PacketCompressor) {
+			return between.size() == 2 && between.contains(COMPRESSOR) && between.contains(ENCODER) ? pipeline : null;
+		}
+
+		return between.equals(List.of(ENCODER)) ? pipeline : null;
+	}
+
+	private static ByteBuf encode(FrameKey key, PacketByteBuf buf, ByteBufAllocator alloc, int compressionThreshold) {
+		if (key.compression() == null) {
+			return encode(key.wireChannel(), buf, alloc, compressionThreshold);
+		}
+
+		PacketByteBuf payload = PayloadCompression.compress(key.wireChannel(), buf, key.compression());
+
+		try {
+			return encode(NetworkingImpl.COMPRESSED_CHANNEL, payload, alloc, compressionThreshold);
+		} finally {
+			payload.release();
+		}
+	}
+
+	/**
+	 * Encodes a custom payload packet into a complete frame, prefixed by its length.
+	 *
+	 * @param compressionThreshold the compression threshold of the connection, or {@code -1} if it isn't compressed
+	 */
+	private static ByteBuf encode(Identifier channelName, PacketByteBuf buf, ByteBufAllocator alloc, int compressionThreshold) {
+		// Slice the payload so its reader index isn't moved for the players getting a regular packet
+		Packet<?> packet = ServerPlayNetworking.createS2CPacket(channelName, PacketByteBufs.slice(buf));
+		PacketByteBuf body = new PacketByteBuf(alloc.buffer());
+
+		try {
+			body.writeVarInt(NetworkState.PLAY.getPacketId(NetworkSide.CLIENTBOUND, packet));
+			packet.write(body);
+
+			if (compressionThreshold >= 0) {
+				PacketByteBuf compressed = compress(body, alloc, compressionThreshold);
+				body.release();
+				body = compressed;
+			}
+
+			PacketByteBuf frame = new PacketByteBuf(alloc.buffer(PacketByteBuf.getVarIntLength(body.readableBytes()) + body.readableBytes()));
+			frame.writeVarInt(body.readableBytes());
+			frame.writeBytes(body);
+			return frame;
+		} finally {
+			body.release();
+		}
+	}
+
+	// Mirrors PacketCompressor
+	private static PacketByteBuf compress(PacketByteBuf body, ByteBufAllocator alloc, int compressionThreshold) {
+		int length = body.readableBytes();
+		PacketByteBuf compressed = new PacketByteBuf(alloc.buffer());
+
+		if (length < compressionThreshold) {
+			compressed.writeVarInt(0);
+			compressed.writeBytes(body);
+			return compressed;
+		}
+
+		byte[] input = new byte[length];
+		body.readBytes(input);
+		compressed.writeVarInt(length);
+
+		Deflater deflater = DEFLATER.get();
+		deflater.setInput(input, 0, length);
+		deflater.finish();
+
+		byte[] output = new byte[8192];
+
+		while (!deflater.finished()) {
+			int written = deflater.deflate(output);
+			compressed.writeBytes(output, 0, written);
+		}
+
+		deflater.reset();
+		return compressed;
+	}
+
+	private PacketBroadcaster() {
+	}
+
+	/**
+	 * Identifies the connections which can share an encoded frame, besides their connection-wide compression.
+	 *
+	 * @param wireChannel the name of the channel on the wire
+	 * @param compression the compression settings of the channel, or {@code null} if the payload isn't compressed
+	 */
+	private record FrameKey(Identifier wireChannel, @Nullable PayloadCompression.Settings compression) {
+	}
+}
@@ -123,6 +123,9 @@ public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 			if (buf != null) {
 				this.sendPacket(NetworkingImpl.REGISTER_CHANNEL, buf);
 			}
+
+			this.sendChannelIds(Collections.singleton(channelName));
+			this.sendCompressionSettings(Collections.singleton(channelName));
 		}
 	}
 
@@ -138,8 +141,15 @@ public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<
 		}
 	}
 
+	@Override
+	protected int getMaxPayloadSize() {
+		// The limit enforced when reading a CustomPayloadS2CPacket on the other side
+		return 1048576;
+	}
+
 	@Override
 	protected void invokeDisconnectEvent() {
+		this.discardBundle();
 		ServerPlayConnectionEvents.DISCONNECT.invoker().onPlayDisconnect(this.handler, this.server);
 		this.receiver.endSession(this);
 	}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+
+/**
+ * Tasks submitted by netty's event loops to run on the server thread, all at once in a single
+ * {@linkplain MinecraftServer#execute(Runnable) server task} instead of one server task each.
+ * <p>
+ * The server task is submitted by the first task queued while none is pending, so the batch runs where that task would
+ * have run, even while an integrated server is paused. The tasks queued after it run in the same batch, so they may run
+ * before the vanilla packets received in between, which are still handled in their own server task.
+ */
+@ApiStatus.Internal
+public final class ServerThreadQueue {
+	private static final Queue<Runnable> TASKS = new ConcurrentLinkedQueue<>();
+	// Whether a server task running the queued tasks has been submitted and hasn't started yet
+	private static final AtomicBoolean SCHEDULED = new AtomicBoolean();
+
+	/**
+	 * Submits a task to run on the server thread, if the connection is still open by then.
+	 *
+	 * @param server  the server
+	 * @param handler the network handler of the connection
+	 * @param task    the task
+	 */
+	public static void submit(MinecraftServer server, ServerPlayNetworkHandler handler, Runnable task) {
+		TASKS.add(() -> {
+			if (handler.getConnection().isOpen()) {
+				task.run();
+			}
+		});
+
+		if (SCHEDULED.compareAndSet(false, true)) {
+			server.execute(ServerThreadQueue::run);
+		}
+	}
+
+	/**
+	 * Runs the tasks submitted until now, on the server thread.
+	 */
+	private static void run() {
+		// Tasks submitted from now on schedule another run
+		SCHEDULED.set(false);
+
+		// Marks the end of the tasks to run now, tasks submitted while running them wait for the next run
+		Runnable end = new End();
+		TASKS.add(end);
+		Runnable task = null;
+
+		try {
+			while ((task = TASKS.poll()) != null && task != end) {
+				try {
+					task.run();
+				} catch (Exception e) {
+					NetworkingImpl.LOGGER.error("Error executing networking task on the server thread", e);
+				}
+			}
+		} finally {
+			// An error thrown by a task must not leave the marker behind, or the next runs would stop at it
+			if (task != end) {
+				TASKS.remove(end);
+			}
+		}
+	}
+
+	/**
+	 * Drops the submitted tasks, as the server is stopped along with its pending server tasks.
+	 */
+	public static void clear() {
+		TASKS.clear();
+		SCHEDULED.set(false);
+	}
+
+	/**
+	 * Wraps a receiver which isn't safe to call off the server thread, so it's called on the server thread with a copy of
+	 * the payload.
+	 *
+	 * @param receiver the receiver
+	 * @return the wrapped receiver
+	 */
+	public static ServerPlayNetworking.ChannelReceiver onServerThread(ServerPlayNetworking.ChannelReceiver receiver) {
+		return (server, player, handler, buf, responseSender) -> {
+			// The payload is released once the packet is handled
+			PacketByteBuf copy = new PacketByteBuf(Unpooled.copiedBuffer(buf));
+			submit(server, handler, () -> receiver.receive(server, player, handler, copy, responseSender));
+		};
+	}
+
+	/**
+	 * Wraps a receiver which decodes payloads on netty's event loops, and applies them on the server thread.
+	 *
+	 * @param decoder  the decoder, called on netty's event loops
+	 * @param receiver the receiver of the decoded payloads, called on the server thread
+	 * @param <T>      the type of the decoded payloads
+	 * @return the wrapped receiver
+	 */
+	public static <T> ServerPlayNetworking.ChannelReceiver decoding(ServerPlayNetworking.PayloadDecoder<T> decoder,
+			ServerPlayNetworking.DecodedChannelReceiver<T> receiver) {
+		return (server, player, handler, buf, responseSender) -> {
+			T payload = decoder.decode(buf);
+			submit(server, handler, () -> receiver.receive(server, player, handler, payload, responseSender));
+		};
+	}
+
+	private ServerThreadQueue() {
+	}
+
+	private static final class End implements Runnable {
+		@Override
+		public void run() {
+		}
+	}
+}
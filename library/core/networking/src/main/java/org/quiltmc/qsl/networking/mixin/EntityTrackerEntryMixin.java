@@ -38,10 +38,12 @@ abstract class EntityTrackerEntryMixin {
 	@Inject(method = "startTracking", at = @At("HEAD"))
 	private void onStartTracking(ServerPlayerEntity player, CallbackInfo ci) {
 		EntityTrackingEvents.START_TRACKING.invoker().onStartTracking(this.entity, player);
+		EntityTrackingEvents.START_TRACKING_BY_TYPE.invoker(this.entity.getType()).onStartTracking(this.entity, player);
 	}
 
 	@Inject(method = "stopTracking", at = @At("TAIL"))
 	private void onStopTracking(ServerPlayerEntity player, CallbackInfo ci) {
 		EntityTrackingEvents.STOP_TRACKING.invoker().onStopTracking(this.entity, player);
+		EntityTrackingEvents.STOP_TRACKING_BY_TYPE.invoker(this.entity.getType()).onStopTracking(this.entity, player);
 	}
 }
@@ -22,6 +22,7 @@ import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.KeyBindText;
 import net.minecraft.text.LiteralText;
+import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 
@@ -37,17 +38,20 @@ import org.quiltmc.qsl.networking.test.NetworkingTestMods;
 public final class NetworkingKeyBindPacketTest implements ModInitializer {
 	public static final Identifier KEYBINDING_PACKET_ID = NetworkingTestMods.id("keybind_press_test");
 
-	private static void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketByteBuf buf, PacketSender responseSender) {
-		// TODO: Can we send chat off the server thread?
-		server.execute(() -> {
-			player.sendMessage(new LiteralText("You pressed ").append(new KeyBindText("quilt_networking_keybind_testmod").styled(style -> style.withFormatting(Formatting.BLUE))), false);
-		});
+	// Called on the network thread
+	private static Text decode(PacketByteBuf buf) {
+		return new KeyBindText("quilt_networking_keybind_testmod").styled(style -> style.withFormatting(Formatting.BLUE));
+	}
+
+	// Called on the server thread, at the start of the tick following the packet
+	private static void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, Text key, PacketSender responseSender) {
+		player.sendMessage(new LiteralText("You pressed ").append(key), false);
 	}
 
 	@Override
 	public void onInitialize(ModContainer mod) {
 		ServerPlayConnectionEvents.INIT.register((handler, server) -> {
-			ServerPlayNetworking.registerReceiver(handler, KEYBINDING_PACKET_ID, NetworkingKeyBindPacketTest::receive);
+			ServerPlayNetworking.registerReceiver(handler, KEYBINDING_PACKET_ID, NetworkingKeyBindPacketTest::decode, NetworkingKeyBindPacketTest::receive);
 		});
 	}
 }
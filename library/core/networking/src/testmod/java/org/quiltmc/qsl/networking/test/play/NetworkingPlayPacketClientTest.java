@@ -23,9 +23,12 @@ import net.minecraft.text.Text;
 
 import org.quiltmc.loader.api.ModContainer;
 import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.quiltmc.qsl.networking.api.ChannelCompression;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
 import org.quiltmc.qsl.networking.api.client.ClientPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
+import org.quiltmc.qsl.networking.test.NetworkingTestMods;
 
 public final class NetworkingPlayPacketClientTest implements ClientModInitializer {
 	@Override
@@ -35,6 +38,26 @@ public final class NetworkingPlayPacketClientTest implements ClientModInitialize
 		ClientPlayConnectionEvents.INIT.register((handler, client) -> {
 			ClientPlayNetworking.registerReceiver(NetworkingPlayPacketTest.TEST_CHANNEL, (client1, handler1, buf, sender1) -> receive(handler1, sender1, client1, buf));
 		});
+
+		// The repeated text compresses well, especially with the dictionary
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingPlayPacketTest.COMPRESSED_TEST_CHANNEL,
+				ChannelCompression.deflate(NetworkingPlayPacketTest.COMPRESSION_DICTIONARY),
+				(client, handler, buf, sender) -> {
+					int size = buf.readableBytes();
+					Text text = buf.readText();
+					NetworkingTestMods.LOGGER.info("Received {} bytes once decompressed in {}", size, NetworkingPlayPacketTest.COMPRESSED_TEST_CHANNEL);
+					client.execute(() -> client.inGameHud.setOverlayMessage(text, true));
+				});
+
+		ClientPlayNetworking.registerGlobalReceiver(NetworkingPlayPacketTest.POOLED_TEST_CHANNEL, (client, handler, buf, sender) -> {
+			Text text = buf.readText();
+			client.execute(() -> client.inGameHud.setOverlayMessage(text, true));
+
+			// Echo it back to the server in a pooled buffer too
+			PacketByteBuf echo = PacketByteBufs.createPooled();
+			echo.writeText(text);
+			sender.sendPacket(NetworkingPlayPacketTest.POOLED_TEST_CHANNEL, echo);
+		});
 	}
 
 	private void receive(ClientPlayNetworkHandler handler, PacketSender sender, MinecraftClient client, PacketByteBuf buf) {
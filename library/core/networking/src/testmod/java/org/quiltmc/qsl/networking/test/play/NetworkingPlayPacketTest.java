@@ -16,18 +16,24 @@
 
 package org.quiltmc.qsl.networking.test.play;
 
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
 import static com.mojang.brigadier.arguments.StringArgumentType.string;
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.LiteralText;
+import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.loader.api.ModContainer;
@@ -39,6 +45,10 @@ import org.quiltmc.qsl.networking.test.NetworkingTestMods;
 
 public final class NetworkingPlayPacketTest implements ModInitializer {
 	public static final Identifier TEST_CHANNEL = NetworkingTestMods.id("test_channel");
+	public static final Identifier COMPRESSED_TEST_CHANNEL = NetworkingTestMods.id("compressed_test_channel");
+	// Echoed back by the client, both ways with pooled buffers, run with -Dquilt.networking.debug_pooled_buffers=true
+	public static final Identifier POOLED_TEST_CHANNEL = NetworkingTestMods.id("pooled_test_channel");
+	public static final byte[] COMPRESSION_DICTIONARY = "{\"text\":\"".getBytes(StandardCharsets.UTF_8);
 
 	public static void sendToTestChannel(ServerPlayerEntity player, String stuff) {
 		PacketByteBuf buf = PacketByteBufs.create();
@@ -47,14 +57,67 @@ public final class NetworkingPlayPacketTest implements ModInitializer {
 		NetworkingTestMods.LOGGER.info("Sent custom payload packet in {}", TEST_CHANNEL);
 	}
 
+	public static void broadcastToTestChannel(Collection<ServerPlayerEntity> players, String stuff) {
+		// Pooled, to make sure broadcasting releases it
+		PacketByteBuf buf = PacketByteBufs.createPooled();
+		buf.writeText(new LiteralText(stuff));
+		ServerPlayNetworking.send(players, TEST_CHANNEL, buf);
+		NetworkingTestMods.LOGGER.info("Broadcast custom payload packet in {} to {} players", TEST_CHANNEL, players.size());
+	}
+
+	public static void sendPooledToTestChannel(ServerPlayerEntity player, String stuff) {
+		PacketByteBuf buf = PacketByteBufs.createPooled();
+		buf.writeText(new LiteralText(stuff));
+		ServerPlayNetworking.send(player, POOLED_TEST_CHANNEL, buf);
+		NetworkingTestMods.LOGGER.info("Sent pooled custom payload packet in {}", POOLED_TEST_CHANNEL);
+	}
+
+	public static void sendBundledToTestChannel(ServerPlayerEntity player, String stuff, int count) {
+		for (int i = 0; i < count; i++) {
+			PacketByteBuf buf = PacketByteBufs.create();
+			buf.writeText(new LiteralText(stuff + " #" + i));
+			ServerPlayNetworking.sendBundled(player, TEST_CHANNEL, buf);
+		}
+
+		NetworkingTestMods.LOGGER.info("Queued {} bundled custom payload packets in {}", count, TEST_CHANNEL);
+	}
+
+	public static void sendCompressedToTestChannel(ServerPlayerEntity player, String stuff, int count) {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeText(new LiteralText(stuff.repeat(count)));
+		ServerPlayNetworking.send(player, COMPRESSED_TEST_CHANNEL, buf);
+		NetworkingTestMods.LOGGER.info("Sent {} bytes in {}", buf.readableBytes(), COMPRESSED_TEST_CHANNEL);
+	}
+
 	public static void registerCommand(CommandDispatcher<ServerCommandSource> dispatcher) {
 		NetworkingTestMods.LOGGER.info("Registering test command");
 
-		dispatcher.register(literal("networktestcommand").then(argument("stuff", string()).executes(ctx -> {
-			String stuff = StringArgumentType.getString(ctx, "stuff");
-			sendToTestChannel(ctx.getSource().getPlayer(), stuff);
-			return Command.SINGLE_SUCCESS;
-		})));
+		dispatcher.register(literal("networktestcommand")
+				.then(literal("bundle").then(argument("count", integer(1, 64)).then(argument("stuff", string()).executes(ctx -> {
+					String stuff = StringArgumentType.getString(ctx, "stuff");
+					sendBundledToTestChannel(ctx.getSource().getPlayer(), stuff, IntegerArgumentType.getInteger(ctx, "count"));
+					return Command.SINGLE_SUCCESS;
+				}))))
+				.then(literal("compressed").then(argument("count", integer(1, 1024)).then(argument("stuff", string()).executes(ctx -> {
+					String stuff = StringArgumentType.getString(ctx, "stuff");
+					sendCompressedToTestChannel(ctx.getSource().getPlayer(), stuff, IntegerArgumentType.getInteger(ctx, "count"));
+					return Command.SINGLE_SUCCESS;
+				}))))
+				.then(literal("pooled").then(argument("stuff", string()).executes(ctx -> {
+					String stuff = StringArgumentType.getString(ctx, "stuff");
+					sendPooledToTestChannel(ctx.getSource().getPlayer(), stuff);
+					return Command.SINGLE_SUCCESS;
+				})))
+				.then(literal("broadcast").then(argument("stuff", string()).executes(ctx -> {
+					String stuff = StringArgumentType.getString(ctx, "stuff");
+					broadcastToTestChannel(ctx.getSource().getServer().getPlayerManager().getPlayerList(), stuff);
+					return Command.SINGLE_SUCCESS;
+				})))
+				.then(argument("stuff", string()).executes(ctx -> {
+					String stuff = StringArgumentType.getString(ctx, "stuff");
+					sendToTestChannel(ctx.getSource().getPlayer(), stuff);
+					return Command.SINGLE_SUCCESS;
+				})));
 	}
 
 	@Override
@@ -64,5 +127,10 @@ public final class NetworkingPlayPacketTest implements ModInitializer {
 		CommandRegistrationCallback.EVENT.register((dispatcher, integrated, dedicated) -> {
 			NetworkingPlayPacketTest.registerCommand(dispatcher);
 		});
+
+		ServerPlayNetworking.registerGlobalReceiver(POOLED_TEST_CHANNEL, (server, player, handler, buf, responseSender) -> {
+			Text text = buf.readText();
+			NetworkingTestMods.LOGGER.info("Received pooled echo \"{}\" from {}", text.getString(), player.getEntityName());
+		});
 	}
 }
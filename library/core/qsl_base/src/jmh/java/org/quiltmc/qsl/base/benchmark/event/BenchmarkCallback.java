@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.benchmark.event;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The callback type of the benchmarked events, with the shape of a tick event.
+ */
+@FunctionalInterface
+public interface BenchmarkCallback {
+	Function<BenchmarkCallback[], BenchmarkCallback> LOOPING_INVOKER = listeners -> blackhole -> {
+		for (var listener : listeners) {
+			listener.onEvent(blackhole);
+		}
+	};
+
+	/**
+	 * Callbacks with different classes, so the call site of a looping invoker gets as megamorphic as it would with
+	 * many mods listening to the same event.
+	 */
+	List<IntFunction<BenchmarkCallback>> SHAPES = List.of(
+			i -> blackhole -> blackhole.consume(i),
+			i -> blackhole -> blackhole.consume(i + 1L),
+			i -> blackhole -> blackhole.consume((double) i),
+			i -> blackhole -> blackhole.consume((short) i)
+	);
+
+	static BenchmarkCallback create(int index) {
+		return SHAPES.get(index % SHAPES.size()).apply(index);
+	}
+
+	void onEvent(Blackhole blackhole);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.benchmark.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.quiltmc.qsl.base.api.event.Event;
+
+/**
+ * Measures the cost of executing an event, depending on its number of listeners and on how its invoker is made.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventInvokeBenchmark {
+	@Param({"0", "1", "8", "64"})
+	int listeners;
+
+	/**
+	 * {@code looping} uses an invoker looping over its listeners, {@code unrolled} uses {@link Event#createUnrolled(Class)}
+	 * and {@code frozen} freezes the looping event first.
+	 */
+	@Param({"looping", "unrolled", "frozen"})
+	String invoker;
+
+	private Event<BenchmarkCallback> event;
+
+	@Setup
+	public void setup() {
+		this.event = switch (this.invoker) {
+			case "looping", "frozen" -> Event.create(BenchmarkCallback.class, BenchmarkCallback.LOOPING_INVOKER);
+			case "unrolled" -> Event.createUnrolled(BenchmarkCallback.class);
+			default -> throw new IllegalArgumentException("Unknown invoker " + this.invoker);
+		};
+
+		for (int i = 0; i < this.listeners; i++) {
+			this.event.register(BenchmarkCallback.create(i));
+		}
+
+		if (this.invoker.equals("frozen")) {
+			this.event.freeze();
+		}
+	}
+
+	@Benchmark
+	public void invoke(Blackhole blackhole) {
+		this.event.invoker().onEvent(blackhole);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.benchmark.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.base.api.event.ListenerPhase;
+
+/**
+ * Measures the time to register listeners implementing several callback types with {@link Event#listenAll(Object, Event[])}.
+ * <p>
+ * Like {@link EventRegisterBenchmark}, events are created once per iteration, and the invoker classes shared by every
+ * event of a callback type are generated before the first iteration, so only the registration is measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventListenAllBenchmark {
+	private static final int LISTENERS = 128;
+
+	private final Listener[] listeners = new Listener[LISTENERS];
+	private Event<BenchmarkCallback> event;
+	private Event<SecondCallback> secondEvent;
+
+	@Setup(Level.Trial)
+	public void createListeners() {
+		for (int i = 0; i < LISTENERS; i++) {
+			this.listeners[i] = new Listener();
+		}
+
+		this.createEvents();
+		this.listenAll();
+	}
+
+	@Setup(Level.Iteration)
+	public void createEvents() {
+		this.event = Event.createUnrolled(BenchmarkCallback.class);
+		this.secondEvent = Event.createUnrolled(SecondCallback.class);
+		this.secondEvent.addPhaseOrdering(Listener.EARLY_PHASE, Event.DEFAULT_PHASE);
+	}
+
+	@Benchmark
+	public void listenAll() {
+		for (var listener : this.listeners) {
+			Event.listenAll(listener, this.event, this.secondEvent);
+		}
+	}
+
+	@FunctionalInterface
+	public interface SecondCallback {
+		void onSecondEvent(Blackhole blackhole);
+	}
+
+	@ListenerPhase(callbackTarget = SecondCallback.class, namespace = "quilt", path = "early")
+	public static final class Listener implements BenchmarkCallback, SecondCallback {
+		static final Identifier EARLY_PHASE = new Identifier("quilt", "early");
+
+		@Override
+		public void onEvent(Blackhole blackhole) {
+			blackhole.consume(this);
+		}
+
+		@Override
+		public void onSecondEvent(Blackhole blackhole) {
+			blackhole.consume(this);
+		}
+	}
+}
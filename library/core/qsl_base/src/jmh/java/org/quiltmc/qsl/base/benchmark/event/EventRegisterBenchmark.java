@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.benchmark.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.api.event.Event;
+
+/**
+ * Measures the time to register many listeners to a new event, as done during mod initialization.
+ * <p>
+ * Events are created once per iteration rather than once per registration: events created before the event registry
+ * is initialized are kept until it is, so creating one per operation would leak. The invoker classes shared by every
+ * event of a callback type are generated before the first iteration, so only the registration is measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventRegisterBenchmark {
+	private static final Identifier EARLY_PHASE = new Identifier("quilt", "early");
+
+	@Param({"16", "256"})
+	int listeners;
+
+	private final List<BenchmarkCallback> callbacks = new ArrayList<>();
+	private Event<BenchmarkCallback> event;
+
+	@Setup(Level.Trial)
+	public void createCallbacks() {
+		for (int i = 0; i < this.listeners; i++) {
+			this.callbacks.add(BenchmarkCallback.create(i));
+		}
+
+		this.createEvent();
+		this.register();
+	}
+
+	@Setup(Level.Iteration)
+	public void createEvent() {
+		this.event = Event.createUnrolled(BenchmarkCallback.class);
+		this.event.addPhaseOrdering(EARLY_PHASE, Event.DEFAULT_PHASE);
+	}
+
+	@Benchmark
+	public Event<BenchmarkCallback> register() {
+		for (int i = 0; i < this.callbacks.size(); i++) {
+			this.event.register((i & 1) == 0 ? Event.DEFAULT_PHASE : EARLY_PHASE, this.callbacks.get(i));
+		}
+
+		return this.event;
+	}
+
+	@Benchmark
+	public Event<BenchmarkCallback> registerAll() {
+		int half = this.callbacks.size() / 2;
+		this.event.registerAll(this.callbacks.subList(0, half));
+		this.event.registerAll(EARLY_PHASE, this.callbacks.subList(half, this.callbacks.size()));
+		return this.event;
+	}
+}
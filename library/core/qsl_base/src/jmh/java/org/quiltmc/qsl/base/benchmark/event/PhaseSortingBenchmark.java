@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.benchmark.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.impl.event.EventPhaseData;
+import org.quiltmc.qsl.base.impl.event.PhaseSorting;
+
+/**
+ * Measures {@link PhaseSorting#sortPhases(List)} on large phase graphs.
+ * <p>
+ * The graphs are generated from a fixed seed so every run sorts the same graphs: a random DAG with about
+ * {@code edgesPerPhase} orderings per phase, optionally with some backward orderings creating cycles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PhaseSortingBenchmark {
+	@Param({"64", "1024"})
+	int phases;
+
+	@Param({"2"})
+	int edgesPerPhase;
+
+	@Param({"false", "true"})
+	boolean cycles;
+
+	private final List<EventPhaseData<Object>> unsortedPhases = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		PhaseSorting.ENABLE_CYCLE_WARNING = false;
+
+		var random = new Random(42);
+
+		for (int i = 0; i < this.phases; i++) {
+			this.unsortedPhases.add(new EventPhaseData<>(new Identifier("quilt", "phase_" + i), Object.class));
+		}
+
+		for (int i = 1; i < this.phases; i++) {
+			for (int j = 0; j < this.edgesPerPhase; j++) {
+				EventPhaseData.link(this.unsortedPhases.get(random.nextInt(i)), this.unsortedPhases.get(i));
+			}
+
+			if (this.cycles && random.nextInt(16) == 0) {
+				EventPhaseData.link(this.unsortedPhases.get(i), this.unsortedPhases.get(random.nextInt(i)));
+			}
+		}
+
+		Collections.shuffle(this.unsortedPhases, random);
+	}
+
+	@Benchmark
+	public List<EventPhaseData<Object>> sortPhases() {
+		var sortedPhases = new ArrayList<>(this.unsortedPhases);
+		PhaseSorting.sortPhases(sortedPhases);
+		return sortedPhases;
+	}
+}
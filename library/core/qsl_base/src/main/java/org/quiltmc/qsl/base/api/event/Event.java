@@ -20,6 +20,7 @@ package org.quiltmc.qsl.base.api.event;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,9 +33,14 @@ import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.base.api.util.QuiltAssertions;
 import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
+import org.quiltmc.qsl.base.impl.event.AsyncListeners;
+import org.quiltmc.qsl.base.impl.event.EventDispatchRecording;
 import org.quiltmc.qsl.base.impl.event.EventPhaseData;
+import org.quiltmc.qsl.base.impl.event.EventProfiler;
 import org.quiltmc.qsl.base.impl.event.EventRegistry;
+import org.quiltmc.qsl.base.impl.event.FrozenInvoker;
 import org.quiltmc.qsl.base.impl.event.PhaseSorting;
+import org.quiltmc.qsl.base.impl.event.UnrolledInvokerFactory;
 
 /**
  * An object which stores event callbacks.
@@ -127,7 +133,15 @@ public final class Event<T> {
 	 * @return a new event instance
 	 */
 	public static <T> Event<T> create(Class<? super T> type, Function<T[], T> implementation) {
-		return new Event<>(type, implementation);
+		return new Event<>(type, implementation, true);
+	}
+
+	/**
+	 * Creates a new instance of {@link Event} to which listening entrypoints are not automatically registered,
+	 * used for the per-key events of {@link KeyedEvent}.
+	 */
+	static <T> Event<T> createWithoutEntrypoints(Class<? super T> type, Function<T[], T> implementation) {
+		return new Event<>(type, implementation, false);
 	}
 
 	/**
@@ -154,6 +168,28 @@ public final class Event<T> {
 		});
 	}
 
+	/**
+	 * Creates a new instance of {@link Event} whose invoker is generated at runtime.
+	 * <p>
+	 * Instead of looping over the array of callbacks, the generated invoker calls every callback directly, one after
+	 * the other, in their registration order. This gives each callback its own call site, which the JIT can inline
+	 * much more easily than the single megamorphic call site of a loop. With no callbacks, the invoker does nothing,
+	 * and with a single callback, the callback itself is used as the invoker.
+	 * <p>
+	 * This is only supported for callback types which are interfaces with a single abstract method returning
+	 * {@code void}; events which need to combine results or cancel execution should use
+	 * {@link #create(Class, Function)} instead. Generally this method should only be used when the code path is very hot,
+	 * such as the render or tick loops.
+	 *
+	 * @param type the class representing the type of the invoker that is executed by the event
+	 * @param <T>  the type of the invoker executed by the event
+	 * @return a new event instance
+	 * @throws IllegalArgumentException if the callback type is not supported
+	 */
+	public static <T> Event<T> createUnrolled(Class<? super T> type) {
+		return create(type, new UnrolledInvokerFactory<>(type));
+	}
+
 	/**
 	 * Create a new instance of {@link Event} with a list of default phases that get invoked in order.
 	 * Exposing the identifiers of the default phases as {@code public static final} constants is encouraged.
@@ -218,6 +254,10 @@ public final class Event<T> {
 	 * The invoker field used to execute callbacks.
 	 */
 	private volatile T invoker;
+	/**
+	 * The frozen invoker, if this event has been frozen.
+	 */
+	private FrozenInvoker<T> frozenInvoker;
 	/**
 	 * Registered callbacks
 	 */
@@ -230,18 +270,28 @@ public final class Event<T> {
 	 * Phases sorted in the correct dependency order.
 	 */
 	private final List<EventPhaseData<T>> sortedPhases = new ArrayList<>();
+	/**
+	 * The profiled listeners of this event, or {@code null} if event profiling is disabled.
+	 */
+	private final EventProfiler.Listeners<T> profiledListeners;
 
 	@SuppressWarnings("unchecked")
-	private Event(Class<? super T> type, Function<T[], T> implementation) {
+	private Event(Class<? super T> type, Function<T[], T> implementation, boolean registerEntrypoints) {
 		Objects.requireNonNull(type, "Class specifying the type of T in the event cannot be null");
 		Objects.requireNonNull(implementation, "Function to generate invoker implementation for T cannot be null");
 
 		this.type = type;
 		this.implementation = implementation;
 		this.callbacks = (T[]) Array.newInstance(type, 0);
+		this.profiledListeners = QuiltBaseImpl.PROFILE_EVENTS ? new EventProfiler.Listeners<>(type) : null;
+		EventDispatchRecording.track(this, Event::refreshInvoker);
 		this.update();
 
-		EventRegistry.register(this);
+		if (registerEntrypoints) {
+			EventRegistry.register(this);
+		} else {
+			EventRegistry.trackFreezing(this);
+		}
 	}
 
 	/**
@@ -280,6 +330,107 @@ public final class Event<T> {
 		}
 	}
 
+	/**
+	 * Registers a callback to the event, which can be removed later.
+	 *
+	 * @param callback the callback
+	 * @return the registration of the callback, which removes the callback when closed
+	 * @see #registerRemovable(Identifier, Object)
+	 */
+	public ListenerRegistration registerRemovable(T callback) {
+		return this.registerRemovable(DEFAULT_PHASE, callback);
+	}
+
+	/**
+	 * Registers a callback to a specific phase of the event, which can be removed later.
+	 * <p>
+	 * This should be preferred over a callback which checks whether it is enabled every time it is executed, as removed
+	 * callbacks have no cost at all.
+	 *
+	 * @param phaseIdentifier the phase identifier
+	 * @param callback        the callback
+	 * @return the registration of the callback, which removes the callback when closed
+	 */
+	public ListenerRegistration registerRemovable(Identifier phaseIdentifier, T callback) {
+		this.register(phaseIdentifier, callback);
+		return new Registration(phaseIdentifier, callback);
+	}
+
+	/**
+	 * Registers a callback to the event, which is executed asynchronously.
+	 *
+	 * @param callback the callback
+	 * @see #registerAsync(Identifier, Object)
+	 */
+	public void registerAsync(T callback) {
+		this.registerAsync(DEFAULT_PHASE, callback);
+	}
+
+	/**
+	 * Registers a callback to a specific phase of the event, which is executed asynchronously.
+	 * <p>
+	 * Executing the event only queues a call of the callback, which is executed later on another thread. This is meant
+	 * for callbacks which only need to be notified and would otherwise block the thread executing the event, such as
+	 * callbacks doing I/O. Calls of the callback are executed one at a time, in the order the event was executed,
+	 * and callbacks registered with {@link #register(Identifier, Object)} are not affected.
+	 * <p>
+	 * The callback must not rely on the thread it is executed on, and must be careful when accessing its arguments,
+	 * as the game keeps using them meanwhile. Pending calls may be lost if the game exits.
+	 *
+	 * @param phaseIdentifier the phase identifier
+	 * @param callback        the callback
+	 * @throws IllegalArgumentException if the callback type is not a functional interface whose method returns nothing
+	 */
+	public void registerAsync(Identifier phaseIdentifier, T callback) {
+		Objects.requireNonNull(callback, "Tried to register a null callback!");
+		this.register(phaseIdentifier, AsyncListeners.wrap(this.type, callback));
+	}
+
+	/**
+	 * Registers multiple callbacks to the event at once.
+	 *
+	 * @param callbacks the callbacks
+	 * @see #registerAll(Identifier, Collection)
+	 */
+	public void registerAll(Collection<? extends T> callbacks) {
+		this.registerAll(DEFAULT_PHASE, callbacks);
+	}
+
+	/**
+	 * Registers multiple callbacks to a specific phase of the event at once.
+	 * <p>
+	 * The callbacks are registered in iteration order. Unlike registering each callback with
+	 * {@link #register(Identifier, Object)}, the invoker is only rebuilt once, which should be preferred when registering
+	 * a lot of callbacks.
+	 *
+	 * @param phaseIdentifier the phase identifier
+	 * @param callbacks       the callbacks
+	 */
+	public void registerAll(Identifier phaseIdentifier, Collection<? extends T> callbacks) {
+		Objects.requireNonNull(phaseIdentifier, "Tried to register callbacks for a null phase!");
+		Objects.requireNonNull(callbacks, "Tried to register a null collection of callbacks!");
+
+		// Copied once, so the callbacks which are checked are the ones which are registered
+		@SuppressWarnings("unchecked")
+		T[] snapshot = callbacks.toArray((T[]) Array.newInstance(this.type, 0));
+
+		for (var callback : snapshot) {
+			Objects.requireNonNull(callback, "Tried to register a null callback!");
+		}
+
+		if (snapshot.length == 0) {
+			return;
+		}
+
+		this.lock.lock();
+		try {
+			this.getOrCreatePhase(phaseIdentifier, true).addListeners(snapshot);
+			this.rebuildInvoker(this.callbacks.length + snapshot.length);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
 	/**
 	 * Returns the invoker instance used to execute callbacks.
 	 *
@@ -292,6 +443,41 @@ public final class Event<T> {
 		return this.invoker;
 	}
 
+	/**
+	 * Freezes this event.
+	 * <p>
+	 * Once frozen, the invoker returned by {@link #invoker()} never changes, and calling it gets compiled to a direct
+	 * call to the actual invoker, as the JIT treats it as a constant. Callbacks can still be registered after freezing,
+	 * however each registration then invalidates the compiled code which calls this event, so it should be avoided.
+	 * <p>
+	 * QSL freezes every event once mod initialization is done, this can be disabled with
+	 * {@code -Dquilt.event.freeze=false}. Events whose callback type is not an interface with a single abstract method
+	 * cannot be frozen, in which case this method does nothing.
+	 */
+	public void freeze() {
+		this.lock.lock();
+		try {
+			if (this.frozenInvoker == null) {
+				this.frozenInvoker = FrozenInvoker.tryCreate(this.type, this.invoker);
+
+				if (this.frozenInvoker != null) {
+					this.invoker = this.frozenInvoker.invoker();
+				}
+			}
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * {@return {@code true} if this event has been frozen, or {@code false} otherwise}
+	 *
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return this.frozenInvoker != null;
+	}
+
 	/**
 	 * Request that callbacks registered for one phase be executed before callbacks registered for another phase.
 	 * Relying on the default phases supplied to {@link Event#createWithPhases} should be preferred over manually
@@ -299,6 +485,8 @@ public final class Event<T> {
 	 * <p>
 	 * Incompatible ordering constraints such as cycles will lead to inconsistent behavior:
 	 * some constraints will be respected and some will be ignored. If this happens, a warning will be logged.
+	 * <p>
+	 * Phases are only sorted again if the new ordering constraint is not already satisfied by the current phase order.
 	 *
 	 * @param firstPhase  the identifier of the phase that should run before the other. It will be created if it didn't exist yet
 	 * @param secondPhase the identifier of the phase that should run after the other. It will be created if it didn't exist yet
@@ -310,12 +498,21 @@ public final class Event<T> {
 			throw new IllegalArgumentException("Tried to add a phase that depends on itself.");
 		}
 
-		synchronized (this.lock) {
+		this.lock.lock();
+		try {
+			int oldPhaseCount = this.phases.size();
 			var first = this.getOrCreatePhase(firstPhase, false);
 			var second = this.getOrCreatePhase(secondPhase, false);
 			EventPhaseData.link(first, second);
-			PhaseSorting.sortPhases(this.sortedPhases);
-			rebuildInvoker(this.callbacks.length);
+
+			// The sorted order is the smallest valid order, which stays the same when adding a constraint it already satisfies.
+			// New phases are appended to the end of the list, so they are never considered as already sorted.
+			if (this.phases.size() != oldPhaseCount || this.sortedPhases.indexOf(first) > this.sortedPhases.indexOf(second)) {
+				PhaseSorting.sortPhases(this.sortedPhases);
+				this.rebuildInvoker(this.callbacks.length);
+			}
+		} finally {
+			this.lock.unlock();
 		}
 	}
 
@@ -360,10 +557,88 @@ public final class Event<T> {
 		this.update();
 	}
 
+	private void unregister(Registration registration) {
+		this.lock.lock();
+		try {
+			if (!registration.registered) {
+				return;
+			}
+
+			registration.registered = false;
+
+			var phase = this.phases.get(registration.phase);
+
+			if (phase == null || !phase.removeListener(registration.callback)) {
+				return;
+			}
+
+			if (this.profiledListeners != null && !phase.containsListener(registration.callback)) {
+				this.profiledListeners.remove(registration.phase, registration.callback);
+			}
+
+			this.rebuildInvoker(this.callbacks.length - 1);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void refreshInvoker() {
+		this.lock.lock();
+		try {
+			this.update();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
 	private void update() {
 		// Make a copy of the array we give to the invoker factory so entries cannot be removed from this event's
 		// backing array
-		this.invoker = this.implementation.apply(Arrays.copyOf(this.callbacks, this.callbacks.length));
+		var callbacks = Arrays.copyOf(this.callbacks, this.callbacks.length);
+
+		if (this.profiledListeners != null) {
+			this.profiledListeners.wrap(this.sortedPhases, callbacks);
+		}
+
+		EventDispatchRecording.wrap(this.type, this.sortedPhases, callbacks);
+
+		var invoker = this.implementation.apply(callbacks);
+
+		if (this.frozenInvoker != null) {
+			this.frozenInvoker.setTarget(invoker);
+		} else {
+			this.invoker = invoker;
+		}
+	}
+
+	private final class Registration implements ListenerRegistration {
+		private final Identifier phase;
+		private final T callback;
+		private volatile boolean registered = true;
+
+		private Registration(Identifier phase, T callback) {
+			this.phase = phase;
+			this.callback = callback;
+		}
+
+		@Override
+		public boolean isRegistered() {
+			return this.registered;
+		}
+
+		@Override
+		public void close() {
+			Event.this.unregister(this);
+		}
+
+		@Override
+		public String toString() {
+			return "ListenerRegistration{" +
+					"phase=" + this.phase +
+					", callback=" + this.callback +
+					", registered=" + this.registered +
+					'}';
+		}
 	}
 
 	@Override
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.api.event;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
+import org.quiltmc.qsl.base.impl.event.EventProfiler;
+
+/**
+ * Provides access to the timings of event listeners, to find which listeners are slow.
+ * <p>
+ * Profiling is disabled by default and is enabled with {@code -Dquilt.event.profiling=true}. When enabled, every
+ * listener of an {@link Event} whose callback type is an interface with a single abstract method is wrapped to record
+ * how long each of its calls takes. When disabled, events have no profiling overhead at all.
+ * <p>
+ * Adding {@code -Dquilt.event.profiling.dump=true} writes the profiles to {@code quilt_event_profiling.tsv} in the game
+ * directory when the game stops.
+ */
+public final class EventProfiling {
+	private EventProfiling() {
+		throw new UnsupportedOperationException("EventProfiling only contains static-definitions.");
+	}
+
+	/**
+	 * {@return {@code true} if event listeners are being profiled, or {@code false} otherwise}
+	 */
+	public static boolean isEnabled() {
+		return QuiltBaseImpl.PROFILE_EVENTS;
+	}
+
+	/**
+	 * {@return a snapshot of the profile of every profiled listener, or an empty list if profiling is disabled}
+	 */
+	public static List<ListenerProfile> getListenerProfiles() {
+		return EventProfiler.getProfiles();
+	}
+
+	/**
+	 * Writes the profile of every profiled listener as tab-separated values, sorted by decreasing total time.
+	 *
+	 * @param path the path of the file to write
+	 * @throws IOException if the file could not be written
+	 */
+	public static void dump(Path path) throws IOException {
+		EventProfiler.dump(path);
+	}
+
+	/**
+	 * The timings of a single listener registered to a phase of an event.
+	 *
+	 * @param eventType     the callback type of the event
+	 * @param phase         the phase the listener is registered to
+	 * @param listenerClass the class of the listener
+	 * @param modId         the identifier of the mod which owns the listener class, or {@code unknown}
+	 * @param calls         the number of calls of the listener
+	 * @param totalNanos    the total time spent in the listener, in nanoseconds
+	 * @param maxNanos      the longest call of the listener, in nanoseconds
+	 * @param histogram     the number of calls per duration, where the element {@code i} counts the calls which took
+	 *                      between {@code 2^i} and {@code 2^(i+1)} nanoseconds
+	 */
+	public record ListenerProfile(Class<?> eventType, Identifier phase, Class<?> listenerClass, String modId,
+			long calls, long totalNanos, long maxNanos, long[] histogram) {
+		/**
+		 * {@return the mean duration of a call of the listener, in nanoseconds}
+		 */
+		public long meanNanos() {
+			return this.calls == 0 ? 0 : this.totalNanos / this.calls;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.api.event;
+
+import java.lang.reflect.Array;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.impl.event.UnrolledInvokerFactory;
+
+/**
+ * An event whose callbacks are registered for a specific key, such as a world, a block entity type or an entity type.
+ * <p>
+ * Executing a keyed event only executes the callbacks registered for the given key, instead of executing every
+ * callback and letting each of them check whether it is interested in the key. Each key has its own {@link Event},
+ * which means phases can be used as usual.
+ * <p>
+ * Callbacks of a keyed event are never automatically registered from listening entrypoints, as there would be no way
+ * to know which key they are interested in.
+ *
+ * <h2>Example: Executing a keyed event</h2>
+ * <pre>{@code
+ * public static final KeyedEvent<EntityType<?>, Example> EXAMPLE = KeyedEvent.create(Example.class, ...); // implementation
+ *
+ * // Registering a callback for a specific key.
+ * EXAMPLE.register(EntityType.PIG, () -> {
+ *     // Do something with pigs
+ * });
+ *
+ * // Executing the event only executes the callbacks registered for the given key.
+ * EXAMPLE.invoker(entity.getType()).doSomething();
+ * }</pre>
+ *
+ * @param <K> the type of the keys
+ * @param <T> the type of the invoker used to execute an event and the type of the callback
+ * @see Event
+ */
+public final class KeyedEvent<K, T> {
+	private final Class<? super T> type;
+	private final Supplier<Function<T[], T>> implementationFactory;
+	private final T emptyInvoker;
+	private final Object lock = new Object();
+	/**
+	 * The events of each key, replaced as a whole when a key is added.
+	 */
+	private volatile Map<K, Event<T>> events = Object2ObjectMaps.emptyMap();
+
+	/**
+	 * Creates a new instance of {@link KeyedEvent}.
+	 *
+	 * @param type           the class representing the type of the invoker that is executed by the event
+	 * @param implementation a function which generates an invoker implementation using an array of callbacks
+	 * @param <K>            the type of the keys
+	 * @param <T>            the type of the invoker executed by the event
+	 * @return a new keyed event instance
+	 * @see Event#create(Class, Function)
+	 */
+	public static <K, T> KeyedEvent<K, T> create(Class<? super T> type, Function<T[], T> implementation) {
+		Objects.requireNonNull(implementation, "Function to generate invoker implementation for T cannot be null");
+		return new KeyedEvent<>(type, () -> implementation);
+	}
+
+	/**
+	 * Creates a new instance of {@link KeyedEvent} whose invokers are generated at runtime.
+	 *
+	 * @param type the class representing the type of the invoker that is executed by the event
+	 * @param <K>  the type of the keys
+	 * @param <T>  the type of the invoker executed by the event
+	 * @return a new keyed event instance
+	 * @throws IllegalArgumentException if the callback type is not supported
+	 * @see Event#createUnrolled(Class)
+	 */
+	public static <K, T> KeyedEvent<K, T> createUnrolled(Class<? super T> type) {
+		// Each key gets its own factory so the generated call sites are not shared between keys.
+		return new KeyedEvent<>(type, () -> new UnrolledInvokerFactory<>(type));
+	}
+
+	@SuppressWarnings("unchecked")
+	private KeyedEvent(Class<? super T> type, Supplier<Function<T[], T>> implementationFactory) {
+		Objects.requireNonNull(type, "Class specifying the type of T in the event cannot be null");
+
+		this.type = type;
+		this.implementationFactory = implementationFactory;
+		this.emptyInvoker = implementationFactory.get().apply((T[]) Array.newInstance(type, 0));
+	}
+
+	/**
+	 * {@return the class of the type of the invoker used to execute an event and the class of the type of the callback}
+	 */
+	public Class<? super T> getType() {
+		return this.type;
+	}
+
+	/**
+	 * Gets the event of the given key, creating it if needed.
+	 * <p>
+	 * This may be used to add phase orderings to the event of a specific key.
+	 *
+	 * @param key the key
+	 * @return the event of the given key
+	 */
+	public Event<T> forKey(K key) {
+		Objects.requireNonNull(key, "Tried to get the event of a null key!");
+
+		var event = this.events.get(key);
+
+		if (event != null) {
+			return event;
+		}
+
+		synchronized (this.lock) {
+			event = this.events.get(key);
+
+			if (event == null) {
+				event = Event.createWithoutEntrypoints(this.type, this.implementationFactory.get());
+
+				var events = new Object2ObjectOpenHashMap<>(this.events);
+				events.put(key, event);
+				this.events = events;
+			}
+
+			return event;
+		}
+	}
+
+	/**
+	 * Registers a callback to the event for a specific key.
+	 *
+	 * @param key      the key
+	 * @param callback the callback
+	 * @see #register(Object, Identifier, Object)
+	 */
+	public void register(K key, T callback) {
+		this.forKey(key).register(callback);
+	}
+
+	/**
+	 * Registers a callback to a specific phase of the event for a specific key.
+	 *
+	 * @param key             the key
+	 * @param phaseIdentifier the phase identifier
+	 * @param callback        the callback
+	 */
+	public void register(K key, Identifier phaseIdentifier, T callback) {
+		this.forKey(key).register(phaseIdentifier, callback);
+	}
+
+	/**
+	 * Registers a callback to the event for a specific key, which can be removed later.
+	 *
+	 * @param key      the key
+	 * @param callback the callback
+	 * @return the registration of the callback, which removes the callback when closed
+	 * @see Event#registerRemovable(Object)
+	 */
+	public ListenerRegistration registerRemovable(K key, T callback) {
+		return this.forKey(key).registerRemovable(callback);
+	}
+
+	/**
+	 * Registers a callback to a specific phase of the event for a specific key, which can be removed later.
+	 *
+	 * @param key             the key
+	 * @param phaseIdentifier the phase identifier
+	 * @param callback        the callback
+	 * @return the registration of the callback, which removes the callback when closed
+	 * @see Event#registerRemovable(Identifier, Object)
+	 */
+	public ListenerRegistration registerRemovable(K key, Identifier phaseIdentifier, T callback) {
+		return this.forKey(key).registerRemovable(phaseIdentifier, callback);
+	}
+
+	/**
+	 * Returns the invoker instance used to execute the callbacks registered for the given key.
+	 *
+	 * <p>You should avoid storing the result of this method since the invoker may become invalid at any time. Use this
+	 * method to obtain the invoker when you intend to execute an event.
+	 *
+	 * @param key the key
+	 * @return the invoker instance
+	 */
+	public T invoker(K key) {
+		var event = this.events.get(key);
+		return event == null ? this.emptyInvoker : event.invoker();
+	}
+
+	@Override
+	public String toString() {
+		return "KeyedEvent{" +
+				"type=" + this.type +
+				", events=" + this.events +
+				'}';
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.api.event;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * A handle to a callback registered to an {@link Event}, which can be used to remove the callback.
+ *
+ * <h2>Example: Toggling a callback at runtime</h2>
+ * <pre>{@code
+ * private ListenerRegistration tickListener;
+ *
+ * public void enable() {
+ *     this.tickListener = ServerTickEvents.END.registerRemovable(server -> {
+ *         // Do something every tick
+ *     });
+ * }
+ *
+ * public void disable() {
+ *     this.tickListener.close();
+ * }
+ * }</pre>
+ *
+ * @see Event#registerRemovable(Object)
+ * @see Event#registerRemovable(Identifier, Object)
+ */
+@ApiStatus.NonExtendable
+public interface ListenerRegistration extends AutoCloseable {
+	/**
+	 * {@return {@code true} if the callback is still registered, or {@code false} if it has been removed}
+	 */
+	boolean isRegistered();
+
+	/**
+	 * Removes the callback from the event, and rebuilds the invoker of the event.
+	 * <p>
+	 * Once every callback of an event has been removed, executing the event costs as much as executing an event
+	 * which never had any callback. Calling this method once the callback has been removed does nothing.
+	 */
+	@Override
+	void close();
+}
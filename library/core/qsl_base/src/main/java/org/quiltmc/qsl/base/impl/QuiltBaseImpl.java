@@ -33,6 +33,27 @@ public final class QuiltBaseImpl {
 	 * Set with {@code -Dquilt.auto_test}.
 	 */
 	public static final Integer AUTO_TEST_SERVER_TICK_TIME;
+	/**
+	 * Represents whether events should be frozen once mod initialization is done.
+	 * <p>
+	 * Disable with {@code -Dquilt.event.freeze=false}.
+	 */
+	public static final boolean FREEZE_EVENTS = Boolean.parseBoolean(System.getProperty("quilt.event.freeze", "true"));
+	/**
+	 * Represents whether the timings of event listeners should be recorded.
+	 * <p>
+	 * Enable with {@code -Dquilt.event.profiling=true}.
+	 *
+	 * @see org.quiltmc.qsl.base.api.event.EventProfiling
+	 */
+	public static final boolean PROFILE_EVENTS = Boolean.getBoolean("quilt.event.profiling");
+	/**
+	 * Represents whether the event listener profiles should be dumped to {@code quilt_event_profiling.tsv} in the game
+	 * directory when the game stops.
+	 * <p>
+	 * Enable with {@code -Dquilt.event.profiling.dump=true}.
+	 */
+	public static final boolean DUMP_EVENT_PROFILES = PROFILE_EVENTS && Boolean.getBoolean("quilt.event.profiling.dump");
 
 	private QuiltBaseImpl() {
 		throw new UnsupportedOperationException("QuiltBaseImpl only contains static definitions.");
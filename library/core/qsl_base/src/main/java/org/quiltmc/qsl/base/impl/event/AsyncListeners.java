@@ -0,0 +1,162 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
+
+/**
+ * Wraps event listeners so they are executed asynchronously.
+ * <p>
+ * Every asynchronous listener has its own queue of pending calls, drained by a shared pool of daemon threads, so calls
+ * of a single listener are executed one at a time in the order the event was executed, while different listeners may
+ * be executed concurrently.
+ */
+@ApiStatus.Internal
+public final class AsyncListeners {
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		var thread = new Thread(runnable, "Quilt Async Event Listener #" + THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private AsyncListeners() {
+		throw new UnsupportedOperationException("AsyncListeners only contains static-definitions.");
+	}
+
+	/**
+	 * Wraps a listener so each of its calls is queued to be executed asynchronously.
+	 *
+	 * @param type     the callback type
+	 * @param listener the listener
+	 * @param <T>      the type of the listener
+	 * @return the wrapped listener
+	 * @throws IllegalArgumentException if the callback type is not an interface with a single abstract method returning
+	 *                                  nothing
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T wrap(Class<? super T> type, T listener) {
+		var method = InvokerGeneration.findSingleAbstractMethod(type);
+
+		if (method == null || method.getReturnType() != void.class) {
+			throw new IllegalArgumentException("Only callbacks of a functional interface whose method returns nothing can be executed asynchronously, "
+					+ type.getName() + " isn't one.");
+		}
+
+		MethodHandle handle;
+
+		try {
+			handle = InvokerGeneration.lookupFor(type).unreflect(method)
+					.bindTo(listener)
+					.asSpreader(Object[].class, method.getParameterCount());
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot access the callback method of " + type.getName() + ".", e);
+		}
+
+		var handler = new Handler(method, handle, listener);
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private static final class Handler implements InvocationHandler {
+		private final Method method;
+		private final MethodHandle handle;
+		private final Object listener;
+		private final SerialExecutor executor = new SerialExecutor(EXECUTOR);
+
+		private Handler(Method method, MethodHandle handle, Object listener) {
+			this.method = method;
+			this.handle = handle;
+			this.listener = listener;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getName().equals(this.method.getName()) && Arrays.equals(method.getParameterTypes(), this.method.getParameterTypes())) {
+				var arguments = args == null ? new Object[0] : args;
+
+				this.executor.execute(() -> {
+					try {
+						this.handle.invoke(arguments);
+					} catch (Throwable e) {
+						QuiltBaseImpl.LOGGER.error("Asynchronous event listener {} failed.", this.listener, e);
+					}
+				});
+
+				return null;
+			}
+
+			return switch (method.getName()) {
+				case "equals" -> proxy == args[0];
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "toString" -> "AsyncListener{" + this.listener + '}';
+				default -> InvocationHandler.invokeDefault(proxy, method, args);
+			};
+		}
+	}
+
+	/**
+	 * Executes tasks one at a time, in submission order, on a shared executor.
+	 */
+	private static final class SerialExecutor implements Executor {
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final Executor executor;
+
+		private SerialExecutor(Executor executor) {
+			this.executor = executor;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			this.tasks.add(task);
+			this.schedule();
+		}
+
+		private void schedule() {
+			if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+				this.executor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			Runnable task;
+
+			while ((task = this.tasks.poll()) != null) {
+				task.run();
+			}
+
+			this.scheduled.set(false);
+			// A task may have been added after the queue was found empty but before the flag was cleared.
+			this.schedule();
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The JFR event emitted for each call of an event listener, while a recording has it enabled.
+ *
+ * @see EventDispatchRecording
+ */
+@ApiStatus.Internal
+@Name(EventDispatchEvent.NAME)
+@Label("Event Dispatch")
+@Description("A call of a listener of a QSL event")
+@Category({"Quilt", "Events"})
+@Enabled(false)
+@StackTrace(false)
+public final class EventDispatchEvent extends Event {
+	public static final String NAME = "org.quiltmc.qsl.EventDispatch";
+
+	@Label("Event Type")
+	@Description("The callback type of the event")
+	Class<?> eventType;
+
+	@Label("Phase")
+	@Description("The phase the listener is registered to")
+	String phase;
+
+	@Label("Listener Class")
+	@Description("The class of the listener")
+	Class<?> listenerClass;
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.lang.invoke.MethodHandle;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jetbrains.annotations.ApiStatus;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
+
+/**
+ * Emits an {@link EventDispatchEvent} JFR event for each call of an event listener while a JFR recording has it
+ * enabled.
+ * <p>
+ * Listeners are only wrapped while such a recording is running: starting or stopping it rebuilds the invoker of every
+ * event, so there is no cost at all when no recording has the event enabled. Enabling the event in a recording which
+ * is already running, for example by changing its settings in JDK Mission Control, is not detected.
+ */
+@ApiStatus.Internal
+public final class EventDispatchRecording {
+	private static final String WRAPPER_NAME = "QuiltRecordedListener";
+	private static final String ENABLED_SETTING = EventDispatchEvent.NAME + "#enabled";
+	/**
+	 * The tracked events, mapped to the function rebuilding their invoker.
+	 */
+	private static final Map<Event<?>, Consumer<Event<?>>> EVENTS = new WeakHashMap<>();
+	/**
+	 * The running recordings which have the dispatch event enabled.
+	 */
+	private static final Set<Recording> RECORDINGS = new HashSet<>();
+	private static final ClassValue<Optional<MethodHandle>> WRAPPER_CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected Optional<MethodHandle> computeValue(Class<?> type) {
+			try {
+				return Optional.ofNullable(InvokerGeneration.generateProbedListener(type, WRAPPER_NAME, Probe.class, EventDispatchEvent.class));
+			} catch (ReflectiveOperationException e) {
+				QuiltBaseImpl.LOGGER.warn("Failed to generate the JFR wrapper of event listeners of type {}.", type.getName(), e);
+				return Optional.empty();
+			}
+		}
+	};
+	private static volatile boolean enabled = false;
+
+	static {
+		try {
+			FlightRecorder.addListener(new FlightRecorderListener() {
+				@Override
+				public void recordingStateChanged(Recording recording) {
+					onRecordingStateChanged(recording);
+				}
+			});
+
+			// Recordings started with the JVM, such as with -XX:StartFlightRecording, are already running.
+			if (FlightRecorder.isInitialized()) {
+				for (var recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+					onRecordingStateChanged(recording);
+				}
+			}
+		} catch (RuntimeException | LinkageError e) {
+			QuiltBaseImpl.LOGGER.debug("JFR is unavailable, event dispatches won't be recorded.", e);
+		}
+	}
+
+	private EventDispatchRecording() {
+		throw new UnsupportedOperationException("EventDispatchRecording only contains static-definitions.");
+	}
+
+	/**
+	 * Tracks an event so its invoker is rebuilt when the recording of event dispatches starts or stops.
+	 *
+	 * @param event            the event
+	 * @param invokerRebuilder the function rebuilding the invoker of the event, which must not capture the event
+	 */
+	public static void track(Event<?> event, Consumer<Event<?>> invokerRebuilder) {
+		synchronized (EVENTS) {
+			EVENTS.put(event, invokerRebuilder);
+		}
+	}
+
+	/**
+	 * Replaces each listener of the given array, sorted like the given phases, by a wrapper emitting JFR events,
+	 * if a recording has them enabled.
+	 *
+	 * @param type         the callback type of the event
+	 * @param sortedPhases the sorted phases of the event
+	 * @param callbacks    the array of listeners to modify
+	 * @param <T>          the type of the listeners
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void wrap(Class<?> type, List<EventPhaseData<T>> sortedPhases, T[] callbacks) {
+		if (!enabled) {
+			return;
+		}
+
+		var constructor = WRAPPER_CONSTRUCTORS.get(type);
+
+		if (constructor.isEmpty()) {
+			return;
+		}
+
+		int i = 0;
+
+		for (var phase : sortedPhases) {
+			var phaseName = phase.id().toString();
+
+			for (var listener : phase.getListeners()) {
+				try {
+					callbacks[i] = (T) constructor.get().invoke(callbacks[i], new Probe(type, phaseName, listener.getClass()));
+				} catch (Throwable e) {
+					QuiltBaseImpl.LOGGER.warn("Failed to record event listener {}.", listener, e);
+				}
+
+				i++;
+			}
+		}
+	}
+
+	private static void onRecordingStateChanged(Recording recording) {
+		boolean recorded = recording.getState() == RecordingState.RUNNING
+				&& Boolean.parseBoolean(recording.getSettings().get(ENABLED_SETTING));
+		Map<Event<?>, Consumer<Event<?>>> events;
+
+		synchronized (EVENTS) {
+			if (recorded) {
+				RECORDINGS.add(recording);
+			} else {
+				RECORDINGS.remove(recording);
+			}
+
+			if (enabled == !RECORDINGS.isEmpty()) {
+				return;
+			}
+
+			enabled = !RECORDINGS.isEmpty();
+			events = Map.copyOf(EVENTS);
+		}
+
+		for (var entry : events.entrySet()) {
+			entry.getValue().accept(entry.getKey());
+		}
+	}
+
+	/**
+	 * The probe called by the generated wrappers around each call of a listener.
+	 * <p>
+	 * This class is public as it is called by the generated wrappers.
+	 */
+	public static final class Probe {
+		private final Class<?> eventType;
+		private final String phase;
+		private final Class<?> listenerClass;
+
+		Probe(Class<?> eventType, String phase, Class<?> listenerClass) {
+			this.eventType = eventType;
+			this.phase = phase;
+			this.listenerClass = listenerClass;
+		}
+
+		public EventDispatchEvent begin() {
+			var event = new EventDispatchEvent();
+			event.begin();
+			return event;
+		}
+
+		public void end(EventDispatchEvent event) {
+			event.end();
+
+			if (event.shouldCommit()) {
+				event.eventType = this.eventType;
+				event.phase = this.phase;
+				event.listenerClass = this.listenerClass;
+				event.commit();
+			}
+		}
+	}
+}
@@ -57,6 +57,46 @@ public final class EventPhaseData<T> {
 		this.listeners[oldLength] = listener;
 	}
 
+	public void addListeners(T[] listeners) {
+		int oldLength = this.listeners.length;
+		this.listeners = Arrays.copyOf(this.listeners, oldLength + listeners.length);
+		System.arraycopy(listeners, 0, this.listeners, oldLength, listeners.length);
+	}
+
+	/**
+	 * Removes a listener from this phase, compared by identity.
+	 *
+	 * @param listener the listener to remove
+	 * @return {@code true} if the listener was found and removed, or {@code false} otherwise
+	 */
+	public boolean removeListener(T listener) {
+		for (int i = this.listeners.length - 1; i >= 0; i--) {
+			if (this.listeners[i] == listener) {
+				@SuppressWarnings("unchecked")
+				var newListeners = (T[]) Array.newInstance(this.listeners.getClass().getComponentType(), this.listeners.length - 1);
+				System.arraycopy(this.listeners, 0, newListeners, 0, i);
+				System.arraycopy(this.listeners, i + 1, newListeners, i, this.listeners.length - i - 1);
+				this.listeners = newListeners;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * {@return {@code true} if this phase contains the given listener, compared by identity, or {@code false} otherwise}
+	 */
+	public boolean containsListener(T listener) {
+		for (var existing : this.listeners) {
+			if (existing == listener) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	public static <T> void link(EventPhaseData<T> first, EventPhaseData<T> second) {
 		first.subsequentPhases.add(second);
 		second.previousPhases.add(first);
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.qsl.base.api.event.EventProfiling;
+import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
+
+/**
+ * Wraps event listeners to record their timings when event profiling is enabled.
+ * <p>
+ * Listeners are wrapped in a hidden class implementing the callback type, generated once per callback type, which times
+ * the call to the listener and records it into the {@link ListenerStats} of the listener.
+ */
+@ApiStatus.Internal
+public final class EventProfiler {
+	private static final String WRAPPER_NAME = "QuiltProfiledListener";
+	private static final String UNKNOWN_MOD = "unknown";
+	// The stats of the listeners which are currently registered
+	private static final Set<ListenerStats> STATS = ConcurrentHashMap.newKeySet();
+	private static final ClassValue<Optional<MethodHandle>> WRAPPER_CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected Optional<MethodHandle> computeValue(Class<?> type) {
+			return generateWrapper(type);
+		}
+	};
+	private static final ClassValue<String> MOD_IDS = new ClassValue<>() {
+		@Override
+		protected String computeValue(Class<?> type) {
+			return findModId(type);
+		}
+	};
+
+	static {
+		if (QuiltBaseImpl.DUMP_EVENT_PROFILES) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				var path = QuiltLoader.getGameDir().resolve("quilt_event_profiling.tsv");
+
+				try {
+					dump(path);
+				} catch (IOException e) {
+					QuiltBaseImpl.LOGGER.error("Failed to dump the event listener profiles to {}.", path, e);
+				}
+			}, "Quilt Event Profiling Dump"));
+		}
+	}
+
+	private EventProfiler() {
+		throw new UnsupportedOperationException("EventProfiler only contains static-definitions.");
+	}
+
+	/**
+	 * The profiled listeners of a single event, so wrappers and their timings are kept when the invoker is rebuilt.
+	 *
+	 * @param <T> the type of the listeners
+	 */
+	public static final class Listeners<T> {
+		private final Class<?> type;
+		private final Map<Identifier, Map<T, Profiled<T>>> wrappers = new IdentityHashMap<>();
+
+		public Listeners(Class<?> type) {
+			this.type = type;
+		}
+
+		/**
+		 * Replaces each listener of the given array, sorted like the given phases, by its profiled wrapper.
+		 *
+		 * @param sortedPhases the sorted phases of the event
+		 * @param callbacks    the array of listeners to modify
+		 */
+		public void wrap(List<EventPhaseData<T>> sortedPhases, T[] callbacks) {
+			int i = 0;
+
+			for (var phase : sortedPhases) {
+				var phaseWrappers = this.wrappers.computeIfAbsent(phase.id(), id -> new IdentityHashMap<>());
+
+				for (var listener : phase.getListeners()) {
+					callbacks[i++] = phaseWrappers.computeIfAbsent(listener, l -> EventProfiler.wrap(this.type, phase.id(), l)).wrapper();
+				}
+			}
+		}
+
+		/**
+		 * Forgets the wrapper and the timings of a listener which is no longer registered to the given phase.
+		 *
+		 * @param phase    the phase
+		 * @param listener the listener
+		 */
+		public void remove(Identifier phase, T listener) {
+			var phaseWrappers = this.wrappers.get(phase);
+
+			if (phaseWrappers != null) {
+				var profiled = phaseWrappers.remove(listener);
+
+				if (profiled != null && profiled.stats() != null) {
+					STATS.remove(profiled.stats());
+				}
+			}
+		}
+	}
+
+	/**
+	 * A listener wrapped for profiling.
+	 *
+	 * @param wrapper the wrapper, or the listener itself if it couldn't be profiled
+	 * @param stats   the timings recorded by the wrapper, or {@code null} if the listener couldn't be profiled
+	 * @param <T>     the type of the listener
+	 */
+	private record Profiled<T>(T wrapper, @Nullable ListenerStats stats) {
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Profiled<T> wrap(Class<?> type, Identifier phase, T listener) {
+		var constructor = WRAPPER_CONSTRUCTORS.get(type);
+
+		if (constructor.isEmpty()) {
+			return new Profiled<>(listener, null);
+		}
+
+		var stats = new ListenerStats(type, phase, listener.getClass(), MOD_IDS.get(listener.getClass()));
+
+		try {
+			var wrapper = (T) constructor.get().invoke(listener, stats);
+			STATS.add(stats);
+			return new Profiled<>(wrapper, stats);
+		} catch (Throwable e) {
+			QuiltBaseImpl.LOGGER.warn("Failed to profile event listener {}.", listener, e);
+			return new Profiled<>(listener, null);
+		}
+	}
+
+	/**
+	 * {@return a snapshot of the profile of every profiled listener}
+	 */
+	public static List<EventProfiling.ListenerProfile> getProfiles() {
+		var profiles = new ArrayList<EventProfiling.ListenerProfile>();
+
+		for (var stats : STATS) {
+			profiles.add(stats.snapshot());
+		}
+
+		return profiles;
+	}
+
+	/**
+	 * Writes the profile of every profiled listener as tab-separated values, sorted by decreasing total time.
+	 *
+	 * @param path the path of the file to write
+	 * @throws IOException if the file could not be written
+	 */
+	public static void dump(Path path) throws IOException {
+		var profiles = getProfiles();
+		profiles.sort(Comparator.comparingLong(EventProfiling.ListenerProfile::totalNanos).reversed());
+
+		var lines = new ArrayList<String>();
+		lines.add("mod\tevent\tphase\tlistener\tcalls\ttotal_ns\tmean_ns\tmax_ns\thistogram");
+
+		for (var profile : profiles) {
+			var histogram = new StringBuilder();
+
+			for (int i = 0; i < profile.histogram().length; i++) {
+				if (profile.histogram()[i] != 0) {
+					if (!histogram.isEmpty()) {
+						histogram.append(' ');
+					}
+
+					histogram.append(">=").append(1L << i).append("ns:").append(profile.histogram()[i]);
+				}
+			}
+
+			lines.add(String.join("\t", profile.modId(), profile.eventType().getName(), profile.phase().toString(),
+					profile.listenerClass().getName(), Long.toString(profile.calls()), Long.toString(profile.totalNanos()),
+					Long.toString(profile.meanNanos()), Long.toString(profile.maxNanos()), histogram));
+		}
+
+		Files.write(path, lines);
+	}
+
+	/**
+	 * Finds the mod which owns the given listener class, by looking for the class file in each mod.
+	 * Lambdas and inner classes are attributed to the mod of their nest host.
+	 */
+	private static String findModId(Class<?> listenerClass) {
+		var classFile = listenerClass.getNestHost().getName().replace('.', '/') + ".class";
+
+		for (var mod : QuiltLoader.getAllMods()) {
+			try {
+				if (Files.exists(mod.getPath(classFile))) {
+					return mod.metadata().id();
+				}
+			} catch (RuntimeException e) {
+				// Some builtin mods may not have a usable root, skip them.
+			}
+		}
+
+		return UNKNOWN_MOD;
+	}
+
+	private static Optional<MethodHandle> generateWrapper(Class<?> type) {
+		try {
+			return Optional.ofNullable(InvokerGeneration.generateProbedListener(type, WRAPPER_NAME, ListenerStats.class, long.class));
+		} catch (ReflectiveOperationException e) {
+			QuiltBaseImpl.LOGGER.warn("Failed to generate the profiling wrapper of event listeners of type {}.", type.getName(), e);
+			return Optional.empty();
+		}
+	}
+}
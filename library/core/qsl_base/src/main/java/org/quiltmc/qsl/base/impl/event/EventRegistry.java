@@ -17,10 +17,17 @@
 package org.quiltmc.qsl.base.impl.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.util.Identifier;
@@ -33,11 +40,15 @@ import org.quiltmc.qsl.base.api.event.EventAwareListener;
 import org.quiltmc.qsl.base.api.event.ListenerPhase;
 import org.quiltmc.qsl.base.api.event.client.ClientEventAwareListener;
 import org.quiltmc.qsl.base.api.event.server.DedicatedServerEventAwareListener;
+import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
 
 @ApiStatus.Internal
 public final class EventRegistry implements ModInitializer {
 	private static List<Event<?>> pendingEventsRegistration = new ArrayList<>();
 	private static boolean initialized = false;
+	private static final Map<EventSideTarget, Map<Class<?>, Map<Identifier, List<Object>>>> LISTENER_INDEX = new EnumMap<>(EventSideTarget.class);
+	private static final Set<Event<?>> UNFROZEN_EVENTS = Collections.newSetFromMap(new WeakHashMap<>());
+	private static boolean frozen = false;
 
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public static void listenAll(Object listener, Event<?>... events) {
@@ -76,6 +87,8 @@ public final class EventRegistry implements ModInitializer {
 
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public static <T> void register(Event<T> event) {
+		trackFreezing(event);
+
 		if (!initialized) {
 			pendingEventsRegistration.add(event);
 			return;
@@ -84,33 +97,132 @@ public final class EventRegistry implements ModInitializer {
 		for (var target : EventSideTarget.VALUES) {
 			// Search if the callback qualifies is unique to this event.
 			if (target.listenerClass().isAssignableFrom(event.getType())) {
-				List<?> entrypoints = QuiltLoader.getEntrypoints(target.entrypointKey(), target.listenerClass());
+				var listenersByPhase = getListenerIndex(target).get(event.getType());
+
+				if (listenersByPhase != null) {
+					// Register all listeners of a phase at once, so the invoker doesn't get rebuilt for each of them.
+					for (var entry : listenersByPhase.entrySet()) {
+						((Event) event).registerAll(entry.getKey(), entry.getValue());
+					}
+				}
+
+				break;
+			}
+		}
+	}
 
-				// Search for matching entrypoint.
-				for (Object entrypoint : entrypoints) {
+	/**
+	 * Gets the index of the listening entrypoints of a side target, keyed by every type they can be a listener of,
+	 * so looking up the entrypoints listening to an event doesn't need to go through every entrypoint.
+	 * <p>
+	 * The index is built on the first registration of an event of the side target, as the entrypoints of a side may
+	 * only be loaded once an event of that side exists, e.g. client entrypoints can't be loaded on a dedicated server.
+	 *
+	 * @param target the side target
+	 * @return the index of the listening entrypoints of the side target
+	 */
+	private static Map<Class<?>, Map<Identifier, List<Object>>> getListenerIndex(EventSideTarget target) {
+		synchronized (LISTENER_INDEX) {
+			var index = LISTENER_INDEX.get(target);
+
+			if (index == null) {
+				long start = System.nanoTime();
+				int count = 0;
+				index = new Object2ObjectOpenHashMap<>();
+
+				for (Object entrypoint : QuiltLoader.getEntrypoints(target.entrypointKey(), target.listenerClass())) {
 					var listenedPhases = getListenedPhases(entrypoint.getClass());
 
-					// Searching if the given entrypoint is a listener of the event being registered.
-					if (event.getType().isAssignableFrom(entrypoint.getClass())) {
-						// It is, then register the listener.
-						var phase = listenedPhases.getOrDefault(event.getType(), Event.DEFAULT_PHASE);
-						((Event) event).register(phase, entrypoint);
+					for (var type : collectSupertypes(entrypoint.getClass())) {
+						var phase = listenedPhases.getOrDefault(type, Event.DEFAULT_PHASE);
+						index.computeIfAbsent(type, t -> new Object2ObjectLinkedOpenHashMap<>())
+								.computeIfAbsent(phase, p -> new ArrayList<>())
+								.add(entrypoint);
 					}
+
+					count++;
 				}
 
-				break;
+				LISTENER_INDEX.put(target, index);
+				QuiltBaseImpl.LOGGER.debug("Indexed {} \"{}\" event listener entrypoints in {} ms.",
+						count, target.entrypointKey(), (System.nanoTime() - start) / 1_000_000.0);
+			}
+
+			return index;
+		}
+	}
+
+	private static Set<Class<?>> collectSupertypes(Class<?> type) {
+		var supertypes = new ObjectOpenHashSet<Class<?>>();
+		var toVisit = new ArrayList<Class<?>>();
+		toVisit.add(type);
+
+		while (!toVisit.isEmpty()) {
+			var current = toVisit.remove(toVisit.size() - 1);
+
+			if (current == Object.class || !supertypes.add(current)) {
+				continue;
+			}
+
+			if (current.getSuperclass() != null) {
+				toVisit.add(current.getSuperclass());
 			}
+
+			toVisit.addAll(Arrays.asList(current.getInterfaces()));
+		}
+
+		return supertypes;
+	}
+
+	public static void trackFreezing(Event<?> event) {
+		if (!QuiltBaseImpl.FREEZE_EVENTS) {
+			return;
+		}
+
+		synchronized (UNFROZEN_EVENTS) {
+			if (frozen) {
+				event.freeze();
+			} else {
+				UNFROZEN_EVENTS.add(event);
+			}
+		}
+	}
+
+	/**
+	 * Freezes every event, called once mod initialization is done.
+	 * Events created afterwards are frozen right away.
+	 *
+	 * @see Event#freeze()
+	 */
+	public static void freezeEvents() {
+		if (!QuiltBaseImpl.FREEZE_EVENTS) {
+			return;
+		}
+
+		synchronized (UNFROZEN_EVENTS) {
+			frozen = true;
+
+			for (var event : UNFROZEN_EVENTS) {
+				event.freeze();
+			}
+
+			UNFROZEN_EVENTS.clear();
 		}
 	}
 
 	@Override
 	public void onInitialize(ModContainer mod) {
+		long start = System.nanoTime();
+
 		initialized = true;
 
 		for (var event : pendingEventsRegistration) {
 			register(event);
 		}
 
+		QuiltBaseImpl.LOGGER.debug("Registered event listener entrypoints to {} pending events in {} ms.",
+				pendingEventsRegistration.size(), (System.nanoTime() - start) / 1_000_000.0);
+
 		pendingEventsRegistration = null;
 	}
 
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.reflect.Method;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * The invoker of a frozen {@link org.quiltmc.qsl.base.api.event.Event}.
+ * <p>
+ * A frozen event publishes a single, never changing, invoker instance: a hidden class which forwards the callback
+ * method to the dynamic invoker of a {@link MutableCallSite} stored in a static final field. The JIT treats the call
+ * site target as a constant, so calling the frozen invoker compiles down to whatever the actual invoker does, which
+ * is nothing for an empty event and a single direct call for an event with a single callback.
+ * <p>
+ * Rebuilding the actual invoker retargets the call site, which deoptimizes the code which depended on the old target.
+ *
+ * @param <T> the type of the invoker
+ */
+@ApiStatus.Internal
+public final class FrozenInvoker<T> {
+	private static final String INVOKER_NAME = "QuiltFrozenInvoker";
+
+	private final Method method;
+	private final MethodHandle unboundTarget;
+	private final MutableCallSite callSite;
+	private final T invoker;
+
+	@SuppressWarnings("unchecked")
+	private FrozenInvoker(MethodHandles.Lookup lookup, Class<?> type, Method method, T target) throws Throwable {
+		this.method = method;
+		this.unboundTarget = lookup.unreflect(method);
+		this.callSite = new MutableCallSite(this.unboundTarget.bindTo(target));
+
+		var hiddenClass = lookup.defineHiddenClassWithClassData(this.generate(lookup, type), this.callSite.dynamicInvoker(), true)
+				.lookupClass();
+		this.invoker = (T) lookup.findConstructor(hiddenClass, MethodType.methodType(void.class)).invoke();
+	}
+
+	/**
+	 * Attempts to freeze the given invoker.
+	 *
+	 * @param type   the callback type
+	 * @param target the current invoker
+	 * @param <T>    the type of the invoker
+	 * @return the frozen invoker, or {@code null} if the callback type cannot be frozen
+	 */
+	public static <T> @Nullable FrozenInvoker<T> tryCreate(Class<?> type, T target) {
+		var method = InvokerGeneration.findSingleAbstractMethod(type);
+
+		if (method == null) {
+			return null;
+		}
+
+		MethodHandles.Lookup lookup;
+
+		try {
+			lookup = InvokerGeneration.lookupFor(type);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+
+		try {
+			return new FrozenInvoker<>(lookup, type, method, target);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to freeze the invoker of " + type.getName() + ".", e);
+		}
+	}
+
+	/**
+	 * {@return the frozen invoker instance, which stays the same for the whole lifetime of the event}
+	 */
+	public T invoker() {
+		return this.invoker;
+	}
+
+	/**
+	 * Retargets the frozen invoker to a newly built invoker.
+	 *
+	 * @param target the new invoker
+	 */
+	public void setTarget(T target) {
+		this.callSite.setTarget(this.unboundTarget.bindTo(target));
+		MutableCallSite.syncAll(new MutableCallSite[] { this.callSite });
+	}
+
+	private byte[] generate(MethodHandles.Lookup lookup, Class<?> type) {
+		var typeName = Type.getInternalName(type);
+		var className = InvokerGeneration.hiddenClassName(lookup, INVOKER_NAME);
+		var handleDesc = Type.getDescriptor(MethodHandle.class);
+
+		var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				className, null, "java/lang/Object", new String[] { typeName });
+		writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "TARGET", handleDesc, null, null)
+				.visitEnd();
+
+		// Static initializer, which reads the dynamic invoker of the call site from the class data.
+		MethodVisitor mv = writer.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+		mv.visitCode();
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup",
+				"()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+		mv.visitLdcInsn("_");
+		mv.visitLdcInsn(Type.getType(MethodHandle.class));
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData",
+				"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;", false);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(MethodHandle.class));
+		mv.visitFieldInsn(Opcodes.PUTSTATIC, className, "TARGET", handleDesc);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Callback method, which forwards everything to the call site.
+		var methodDesc = Type.getMethodDescriptor(this.method);
+		mv = writer.visitMethod(Opcodes.ACC_PUBLIC, this.method.getName(), methodDesc, null, null);
+		mv.visitCode();
+		mv.visitFieldInsn(Opcodes.GETSTATIC, className, "TARGET", handleDesc);
+
+		int local = 1;
+
+		for (var argumentType : Type.getArgumentTypes(this.method)) {
+			mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), local);
+			local += argumentType.getSize();
+		}
+
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact", methodDesc, false);
+		mv.visitInsn(Type.getReturnType(this.method).getOpcode(Opcodes.IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Shared utilities for the generation of event invokers as hidden classes.
+ */
+@ApiStatus.Internal
+public final class InvokerGeneration {
+	private InvokerGeneration() {
+		throw new UnsupportedOperationException("InvokerGeneration only contains static-definitions.");
+	}
+
+	/**
+	 * Finds the single abstract method of the given callback type.
+	 *
+	 * @param type the callback type
+	 * @return the single abstract method, or {@code null} if the type is not an interface or doesn't have exactly one
+	 * abstract method
+	 */
+	public static @Nullable Method findSingleAbstractMethod(Class<?> type) {
+		if (!type.isInterface()) {
+			return null;
+		}
+
+		Method callbackMethod = null;
+
+		for (var method : type.getMethods()) {
+			if (!Modifier.isAbstract(method.getModifiers())) {
+				continue;
+			}
+
+			if (callbackMethod != null) {
+				return null;
+			}
+
+			callbackMethod = method;
+		}
+
+		return callbackMethod;
+	}
+
+	/**
+	 * {@return a lookup able to define hidden classes which can implement the given callback type}
+	 * <p>
+	 * The hidden classes are preferably defined next to the callback type, so package-private callback types are
+	 * supported. Public callback types from packages which cannot be opened to us, such as the JDK's, get their hidden
+	 * classes defined next to this class instead.
+	 *
+	 * @param type the callback type
+	 * @throws IllegalAccessException if no suitable package can be accessed
+	 */
+	public static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+		try {
+			return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+		} catch (IllegalAccessException e) {
+			if (Modifier.isPublic(type.getModifiers()) && type.getModule().isExported(type.getPackageName())) {
+				return MethodHandles.lookup();
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * {@return the internal name of a hidden class to define with the given lookup}
+	 *
+	 * @param lookup     the lookup which will define the hidden class
+	 * @param simpleName the simple name of the hidden class
+	 */
+	static String hiddenClassName(MethodHandles.Lookup lookup, String simpleName) {
+		var lookupClassName = Type.getInternalName(lookup.lookupClass());
+		return lookupClassName.substring(0, lookupClassName.lastIndexOf('/') + 1) + simpleName;
+	}
+
+	/**
+	 * Generates a hidden class which wraps a listener of the given callback type and calls a probe around each call
+	 * of the listener.
+	 * <p>
+	 * The probe type must have a public {@code begin()} method returning the given token type, and a public
+	 * {@code end(token)} method returning nothing. The generated callback method calls {@code begin()}, then the listener,
+	 * then {@code end(token)} with the token returned by {@code begin()}, and returns the value returned by the listener.
+	 *
+	 * @param type       the callback type
+	 * @param simpleName the simple name of the hidden class
+	 * @param probeType  the type of the probe
+	 * @param tokenType  the type of the token passed from {@code begin()} to {@code end(token)}
+	 * @return a method handle creating a wrapper from a listener and a probe, or {@code null} if the callback type
+	 * doesn't have a single abstract method
+	 * @throws ReflectiveOperationException if the hidden class could not be defined
+	 */
+	static @Nullable MethodHandle generateProbedListener(Class<?> type, String simpleName, Class<?> probeType, Class<?> tokenType)
+			throws ReflectiveOperationException {
+		var method = findSingleAbstractMethod(type);
+
+		if (method == null) {
+			return null;
+		}
+
+		var lookup = lookupFor(type);
+		var bytes = generateProbedListener(lookup, type, method, simpleName, probeType, tokenType);
+		var wrapperClass = lookup.defineHiddenClass(bytes, true).lookupClass();
+		return lookup.findConstructor(wrapperClass, MethodType.methodType(void.class, Object.class, probeType));
+	}
+
+	private static byte[] generateProbedListener(MethodHandles.Lookup lookup, Class<?> type, Method method, String simpleName,
+			Class<?> probeType, Class<?> tokenType) {
+		var typeName = Type.getInternalName(type);
+		var typeDesc = Type.getDescriptor(type);
+		var probeName = Type.getInternalName(probeType);
+		var probeDesc = Type.getDescriptor(probeType);
+		var token = Type.getType(tokenType);
+		var className = hiddenClassName(lookup, simpleName);
+
+		var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				className, null, "java/lang/Object", new String[] { typeName });
+		writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "delegate", typeDesc, null, null).visitEnd();
+		writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "probe", probeDesc, null, null).visitEnd();
+
+		MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(Ljava/lang/Object;" + probeDesc + ")V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, typeName);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "delegate", typeDesc);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "probe", probeDesc);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Callback method: begin the probe, call the delegate, end the probe and return the result of the delegate.
+		var methodDesc = Type.getMethodDescriptor(method);
+		var argumentTypes = Type.getArgumentTypes(method);
+		var returnType = Type.getReturnType(method);
+		mv = writer.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), methodDesc, null, null);
+		mv.visitCode();
+
+		int tokenLocal = 1;
+
+		for (var argumentType : argumentTypes) {
+			tokenLocal += argumentType.getSize();
+		}
+
+		int resultLocal = tokenLocal + token.getSize();
+
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "probe", probeDesc);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, probeName, "begin", "()" + token.getDescriptor(), false);
+		mv.visitVarInsn(token.getOpcode(Opcodes.ISTORE), tokenLocal);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "delegate", typeDesc);
+
+		int local = 1;
+
+		for (var argumentType : argumentTypes) {
+			mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), local);
+			local += argumentType.getSize();
+		}
+
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, typeName, method.getName(), methodDesc, true);
+
+		if (returnType.getSort() != Type.VOID) {
+			mv.visitVarInsn(returnType.getOpcode(Opcodes.ISTORE), resultLocal);
+		}
+
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "probe", probeDesc);
+		mv.visitVarInsn(token.getOpcode(Opcodes.ILOAD), tokenLocal);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, probeName, "end", "(" + token.getDescriptor() + ")V", false);
+
+		if (returnType.getSort() != Type.VOID) {
+			mv.visitVarInsn(returnType.getOpcode(Opcodes.ILOAD), resultLocal);
+		}
+
+		mv.visitInsn(returnType.getOpcode(Opcodes.IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.base.api.event.EventProfiling;
+
+/**
+ * The timings recorded for a single profiled event listener.
+ * <p>
+ * This class is public as it is called by the generated profiling wrappers.
+ */
+@ApiStatus.Internal
+public final class ListenerStats {
+	private final Class<?> eventType;
+	private final Identifier phase;
+	private final Class<?> listenerClass;
+	private final String modId;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	/**
+	 * Bucket {@code i} counts the calls which took between {@code 2^i} and {@code 2^(i+1)} nanoseconds.
+	 */
+	private final AtomicLongArray histogram = new AtomicLongArray(Long.SIZE);
+
+	ListenerStats(Class<?> eventType, Identifier phase, Class<?> listenerClass, String modId) {
+		this.eventType = eventType;
+		this.phase = phase;
+		this.listenerClass = listenerClass;
+		this.modId = modId;
+	}
+
+	/**
+	 * Called by the profiling wrapper before calling the listener.
+	 *
+	 * @return the start time of the call
+	 */
+	public long begin() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Called by the profiling wrapper after calling the listener.
+	 *
+	 * @param start the start time of the call, as returned by {@link #begin()}
+	 */
+	public void end(long start) {
+		this.record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Records a call of the listener.
+	 *
+	 * @param nanos the duration of the call in nanoseconds
+	 */
+	public void record(long nanos) {
+		this.calls.increment();
+		this.totalNanos.add(nanos);
+		this.histogram.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+
+		long max;
+
+		while (nanos > (max = this.maxNanos.get())) {
+			if (this.maxNanos.compareAndSet(max, nanos)) {
+				break;
+			}
+		}
+	}
+
+	EventProfiling.ListenerProfile snapshot() {
+		var histogram = new long[this.histogram.length()];
+
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = this.histogram.get(i);
+		}
+
+		return new EventProfiling.ListenerProfile(this.eventType, this.phase, this.listenerClass, this.modId,
+				this.calls.sum(), this.totalNanos.sum(), this.maxNanos.get(), histogram);
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2022 QuiltMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.base.impl.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Generates invokers for {@link org.quiltmc.qsl.base.api.event.Event} which call every callback directly, without a loop.
+ * <p>
+ * For each number of callbacks up to {@link #MAX_ARITY}, a hidden class is defined next to the callback type the first
+ * time it's needed. That class stores each callback in its own final field and calls them one after the other in the
+ * callback method, which leaves the JIT with one call site per callback instead of a single megamorphic call site
+ * inside a loop. Final fields of hidden classes are trusted, so a constant invoker also gets its callbacks
+ * constant-folded.
+ * <p>
+ * Larger arrays of callbacks are split into chunks of {@link #MAX_ARITY} callbacks, whose invokers are themselves called
+ * by an invoker, and so on. The hidden classes are shared by every event of the same callback type, so at most
+ * {@link #MAX_ARITY} of them are ever defined per callback type, however many callbacks are registered one at a time.
+ * <p>
+ * Only callback types which are interfaces with a single abstract method returning {@code void} are supported,
+ * as there is no generic way of combining results.
+ *
+ * @param <T> the type of the invoker
+ */
+@ApiStatus.Internal
+public final class UnrolledInvokerFactory<T> implements Function<T[], T> {
+	private static final String INVOKER_NAME = "QuiltUnrolledInvoker";
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Object[].class);
+	/**
+	 * The maximum number of callbacks called directly by a generated invoker.
+	 */
+	static final int MAX_ARITY = 8;
+	/**
+	 * The constructors of the already generated hidden classes of each callback type, indexed by their amount of
+	 * callbacks.
+	 */
+	private static final ClassValue<MethodHandle[]> CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected MethodHandle[] computeValue(Class<?> type) {
+			return new MethodHandle[MAX_ARITY + 1];
+		}
+	};
+
+	private final Class<?> type;
+	private final Method method;
+	private final MethodHandles.Lookup lookup;
+	private final MethodHandle[] constructors;
+	private T emptyInvoker;
+
+	public UnrolledInvokerFactory(Class<?> type) {
+		this.type = type;
+		this.method = findCallbackMethod(type);
+		this.constructors = CONSTRUCTORS.get(type);
+
+		try {
+			this.lookup = InvokerGeneration.lookupFor(type);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot define an unrolled invoker next to " + type.getName() + ".", e);
+		}
+	}
+
+	private static Method findCallbackMethod(Class<?> type) {
+		var callbackMethod = InvokerGeneration.findSingleAbstractMethod(type);
+
+		if (callbackMethod == null) {
+			throw new IllegalArgumentException("Unrolled invokers require an interface with a single abstract method, got "
+					+ type.getName() + ".");
+		}
+
+		if (callbackMethod.getReturnType() != void.class) {
+			throw new IllegalArgumentException("Unrolled invokers require the callback method "
+					+ type.getName() + "#" + callbackMethod.getName() + " to return void.");
+		}
+
+		return callbackMethod;
+	}
+
+	@Override
+	public T apply(T[] callbacks) {
+		if (callbacks.length == 0) {
+			if (this.emptyInvoker == null) {
+				this.emptyInvoker = this.create(callbacks);
+			}
+
+			return this.emptyInvoker;
+		}
+
+		// Group the callbacks into chunks until a single invoker calls all of them
+		Object[] invokers = callbacks;
+
+		while (invokers.length > 1) {
+			var chunks = new Object[(invokers.length + MAX_ARITY - 1) / MAX_ARITY];
+
+			for (int i = 0; i < chunks.length; i++) {
+				int from = i * MAX_ARITY;
+				int to = Math.min(from + MAX_ARITY, invokers.length);
+				chunks[i] = to - from == 1 ? invokers[from] : this.create(Arrays.copyOfRange(invokers, from, to));
+			}
+
+			invokers = chunks;
+		}
+
+		@SuppressWarnings("unchecked")
+		var invoker = (T) invokers[0];
+		return invoker;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T create(Object[] callbacks) {
+		try {
+			return (T) this.getConstructor(callbacks.length).invoke(callbacks);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to generate an unrolled invoker for " + this.type.getName() + ".", e);
+		}
+	}
+
+	private MethodHandle getConstructor(int count) throws ReflectiveOperationException {
+		synchronized (this.constructors) {
+			var constructor = this.constructors[count];
+
+			if (constructor == null) {
+				var hiddenClass = this.lookup.defineHiddenClass(this.generate(count), true).lookupClass();
+				constructor = this.lookup.findConstructor(hiddenClass, CONSTRUCTOR_TYPE);
+				this.constructors[count] = constructor;
+			}
+
+			return constructor;
+		}
+	}
+
+	private byte[] generate(int count) {
+		var typeName = Type.getInternalName(this.type);
+		var typeDesc = Type.getDescriptor(this.type);
+		var className = InvokerGeneration.hiddenClassName(this.lookup, INVOKER_NAME);
+
+		var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				className, null, "java/lang/Object", new String[] { typeName });
+
+		for (int i = 0; i < count; i++) {
+			writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "callback" + i, typeDesc, null, null).visitEnd();
+		}
+
+		// Constructor, which unpacks the callback array into fields.
+		MethodVisitor mv = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+		for (int i = 0; i < count; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, typeName);
+			mv.visitFieldInsn(Opcodes.PUTFIELD, className, "callback" + i, typeDesc);
+		}
+
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Callback method, which calls every callback in order.
+		var methodDesc = Type.getMethodDescriptor(this.method);
+		var argumentTypes = Type.getArgumentTypes(this.method);
+		mv = writer.visitMethod(Opcodes.ACC_PUBLIC, this.method.getName(), methodDesc, null, null);
+		mv.visitCode();
+
+		for (int i = 0; i < count; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, className, "callback" + i, typeDesc);
+
+			int local = 1;
+
+			for (var argumentType : argumentTypes) {
+				mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), local);
+				local += argumentType.getSize();
+			}
+
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, typeName, this.method.getName(), methodDesc, true);
+		}
+
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+}
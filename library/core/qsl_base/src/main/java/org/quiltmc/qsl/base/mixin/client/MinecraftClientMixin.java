@@ -26,6 +26,7 @@ import net.minecraft.client.RunArgs;
 
 import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.quiltmc.qsl.base.impl.event.EventRegistry;
 
 @Mixin(MinecraftClient.class)
 public abstract class MinecraftClientMixin {
@@ -37,5 +38,7 @@ public abstract class MinecraftClientMixin {
 		for (var initializer : QuiltLoader.getEntrypointContainers(ClientModInitializer.ENTRYPOINT_KEY, ClientModInitializer.class)) {
 			initializer.getEntrypoint().onInitializeClient(initializer.getProvider());
 		}
+
+		EventRegistry.freezeEvents();
 	}
 }
@@ -25,6 +25,7 @@ import net.minecraft.server.Main;
 
 import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.qsl.base.api.entrypoint.server.DedicatedServerModInitializer;
+import org.quiltmc.qsl.base.impl.event.EventRegistry;
 
 @Mixin(Main.class)
 public class MainMixin {
@@ -37,5 +38,7 @@ public class MainMixin {
 		for (var initializer : QuiltLoader.getEntrypointContainers(DedicatedServerModInitializer.ENTRYPOINT_KEY, DedicatedServerModInitializer.class)) {
 			initializer.getEntrypoint().onInitializeServer(initializer.getProvider());
 		}
+
+		EventRegistry.freezeEvents();
 	}
 }
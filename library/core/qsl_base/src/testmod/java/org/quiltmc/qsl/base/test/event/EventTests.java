@@ -18,16 +18,23 @@
 package org.quiltmc.qsl.base.test.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.base.api.event.EventProfiling;
+import org.quiltmc.qsl.base.api.event.KeyedEvent;
 import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
 import org.quiltmc.qsl.base.impl.event.PhaseSorting;
 
@@ -46,6 +53,13 @@ public final class EventTests implements Runnable {
 		testDeterministicOrdering();
 		testTwoCycles();
 		PhaseSorting.ENABLE_CYCLE_WARNING = true;
+		testUnrolledInvoker();
+		testFrozenEvent();
+		testRegisterAll();
+		testKeyedEvent();
+		testProfiledEvent();
+		testRemovableListeners();
+		testAsyncListeners();
 
 		long time2 = System.currentTimeMillis();
 		LOGGER.info("Event unit tests succeeded in {} milliseconds.", time2 - time1);
@@ -264,6 +278,254 @@ public final class EventTests implements Runnable {
 		});
 	}
 
+	private static void testUnrolledInvoker() {
+		var early = new Identifier("quilt", "early");
+		Event<TestCallback> event = Event.createUnrolled(TestCallback.class);
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+		event.invoker().onTest();
+		assertEquals(0, currentListener);
+
+		event.register(ensureOrder(1));
+		currentListener = 1;
+		event.invoker().onTest();
+		assertEquals(2, currentListener);
+		currentListener = 0;
+
+		event.register(ensureOrder(2));
+		event.register(early, ensureOrder(0));
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(3, currentListener);
+			currentListener = 0;
+		}
+
+		var genericEvent = Event.<GenericTestCallback<String>>createUnrolled(GenericTestCallback.class);
+		var messages = new ArrayList<String>();
+		genericEvent.register(messages::add);
+		genericEvent.register(message -> messages.add(message + "!"));
+		genericEvent.invoker().onGenericTest("unrolled");
+		assertEquals(List.of("unrolled", "unrolled!"), messages);
+	}
+
+	private static void testFrozenEvent() {
+		var event = createEvent();
+		event.freeze();
+		assertEquals(true, event.isFrozen());
+
+		var invoker = event.invoker();
+		invoker.onTest();
+		assertEquals(0, currentListener);
+
+		// Late registrations must still be seen through the same invoker.
+		event.register(ensureOrder(0));
+		event.register(ensureOrder(1));
+		assertEquals(invoker, event.invoker());
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(2, currentListener);
+			currentListener = 0;
+		}
+
+		Event<Predicate<String>> predicateEvent = Event.create(Predicate.class, listeners -> value -> {
+			for (var listener : listeners) {
+				if (listener.test(value)) {
+					return true;
+				}
+			}
+
+			return false;
+		});
+		predicateEvent.freeze();
+		assertEquals(false, predicateEvent.invoker().test("frozen"));
+		predicateEvent.register(value -> value.startsWith("fro"));
+		assertEquals(true, predicateEvent.invoker().test("frozen"));
+		assertEquals(false, predicateEvent.invoker().test("thawed"));
+	}
+
+	private static void testRegisterAll() {
+		var early = new Identifier("quilt", "early");
+		var late = new Identifier("quilt", "late");
+		var event = createEvent();
+
+		event.register(ensureOrder(2));
+		event.registerAll(List.of(ensureOrder(3), ensureOrder(4)));
+		event.registerAll(late, List.of(ensureOrder(5), ensureOrder(6)));
+		event.registerAll(early, List.of(ensureOrder(0), ensureOrder(1)));
+		event.registerAll(List.of());
+
+		// Already satisfied by the current order, then requiring a resort.
+		event.addPhaseOrdering(Event.DEFAULT_PHASE, late);
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(7, currentListener);
+			currentListener = 0;
+		}
+	}
+
+	private static void testKeyedEvent() {
+		var early = new Identifier("quilt", "early");
+		KeyedEvent<String, TestCallback> event = KeyedEvent.createUnrolled(TestCallback.class);
+
+		// No callbacks at all, the empty invoker is used.
+		event.invoker("a").onTest();
+		assertEquals(0, currentListener);
+
+		event.register("a", ensureOrder(1));
+		event.register("a", early, ensureOrder(0));
+		event.forKey("a").addPhaseOrdering(early, Event.DEFAULT_PHASE);
+		event.register("b", () -> {
+			throw new AssertionError("Callback registered for another key got executed.");
+		});
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker("a").onTest();
+			assertEquals(2, currentListener);
+			currentListener = 0;
+		}
+
+		event.invoker("c").onTest();
+		assertEquals(0, currentListener);
+	}
+
+	private static void testRemovableListeners() {
+		var early = new Identifier("quilt", "early");
+		TestCallback empty = () -> {};
+		var event = Event.create(TestCallback.class, empty, INVOKER_FACTORY);
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+		var removed = event.registerRemovable(() -> {
+			throw new AssertionError("Removed callback got executed.");
+		});
+		var first = event.registerRemovable(early, ensureOrder(0));
+		var second = event.registerRemovable(ensureOrder(1));
+
+		removed.close();
+		assertEquals(false, removed.isRegistered());
+		assertEquals(true, first.isRegistered());
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(2, currentListener);
+			currentListener = 0;
+		}
+
+		// Closing twice does nothing.
+		removed.close();
+		first.close();
+		second.close();
+		assertEquals(empty, event.invoker());
+
+		KeyedEvent<String, TestCallback> keyedEvent = KeyedEvent.createUnrolled(TestCallback.class);
+		keyedEvent.registerRemovable("a", () -> {
+			throw new AssertionError("Removed callback got executed.");
+		}).close();
+		keyedEvent.invoker("a").onTest();
+	}
+
+	private static void testAsyncListeners() {
+		Event<Consumer<Integer>> event = Event.create(Consumer.class, listeners -> value -> {
+			for (var listener : listeners) {
+				listener.accept(value);
+			}
+		});
+		var received = Collections.synchronizedList(new ArrayList<Integer>());
+		var done = new CountDownLatch(1);
+		var callingThread = Thread.currentThread();
+		int calls = 100;
+
+		event.registerAsync(value -> {
+			if (Thread.currentThread() == callingThread) {
+				throw new AssertionError("Asynchronous callback got executed on the thread executing the event.");
+			}
+
+			received.add(value);
+
+			if (value == calls - 1) {
+				done.countDown();
+			}
+		});
+
+		int[] synchronousCalls = {0};
+		event.register(value -> synchronousCalls[0]++);
+
+		for (int i = 0; i < calls; ++i) {
+			event.invoker().accept(i);
+		}
+
+		assertEquals(calls, synchronousCalls[0]);
+
+		try {
+			if (!done.await(10, TimeUnit.SECONDS)) {
+				throw new AssertionError("Asynchronous callback didn't finish in time.");
+			}
+		} catch (InterruptedException e) {
+			throw new AssertionError(e);
+		}
+
+		for (int i = 0; i < calls; ++i) {
+			assertEquals(i, received.get(i));
+		}
+
+		try {
+			Event<Predicate<String>> predicateEvent = Event.create(Predicate.class, listeners -> s -> true);
+			predicateEvent.registerAsync(s -> true);
+			throw new AssertionError("Callbacks returning a value shouldn't be allowed to be executed asynchronously.");
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	private static void testProfiledEvent() {
+		if (!EventProfiling.isEnabled()) {
+			return;
+		}
+
+		var early = new Identifier("quilt", "early");
+		var event = createEvent();
+		TestCallback profiled = () -> {
+			assertEquals(1, currentListener);
+			++currentListener;
+		};
+
+		event.register(profiled);
+		event.register(early, ensureOrder(0));
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(2, currentListener);
+			currentListener = 0;
+		}
+
+		var profile = EventProfiling.getListenerProfiles().stream()
+				.filter(p -> p.listenerClass() == profiled.getClass())
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("The profiled listener has no profile."));
+		assertEquals(TestCallback.class, profile.eventType());
+		assertEquals(Event.DEFAULT_PHASE, profile.phase());
+		assertEquals(5L, profile.calls());
+		assertEquals(5L, Arrays.stream(profile.histogram()).sum());
+
+		// Listeners returning a value get their value forwarded.
+		Event<Predicate<String>> predicateEvent = Event.create(Predicate.class, listeners -> s -> {
+			for (var listener : listeners) {
+				if (!listener.test(s)) {
+					return false;
+				}
+			}
+
+			return true;
+		});
+		predicateEvent.register(s -> !s.isEmpty());
+		assertEquals(true, predicateEvent.invoker().test("a"));
+		assertEquals(false, predicateEvent.invoker().test(""));
+	}
+
 	@SuppressWarnings("SuspiciousListRemoveInLoop")
 	private static <T> void testAllPermutations(List<T> selected, List<T> toSelect, Consumer<List<T>> action) {
 		if (toSelect.size() == 0) {